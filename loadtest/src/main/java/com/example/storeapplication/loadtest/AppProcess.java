@@ -0,0 +1,120 @@
+package com.example.storeapplication.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The store application started from its jar in a separate JVM on the
+ * embedded H2 database, so the load generator and the server do not share
+ * a heap or garbage collector. Output goes to a log file next to the jar.
+ */
+final class AppProcess implements AutoCloseable {
+
+    private final Process process;
+
+    private final URI baseUri;
+
+    private final Path log;
+
+    private AppProcess(Process process, URI baseUri, Path log) {
+        this.process = process;
+        this.baseUri = baseUri;
+        this.log = log;
+    }
+
+    /**
+     * @param jvmArgs extra JVM options, e.g. {@code -Xmx1g}
+     */
+    static AppProcess start(Path jar, int port, List<String> jvmArgs, Duration startupTimeout)
+            throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--store.basket.identity=token",
+                "--store.basket.token.secret=" + Base64.getEncoder().encodeToString(secret),
+                "--store.rate-limit.enabled=false",
+                "--store.sql-diagnostics.enabled=false",
+                "--store.tracing.enabled=false"));
+
+        Path log = jar.resolveSibling("loadtest-app.log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        AppProcess app = new AppProcess(process, URI.create("http://localhost:" + port), log);
+        try {
+            app.awaitHealthy(startupTimeout);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    private void awaitHealthy(Duration timeout) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application not healthy after " + timeout + ", see " + log);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    static Path defaultJar() {
+        File target = new File("../target");
+        File[] jars = target.listFiles((dir, name) -> name.startsWith("storeapplication-") && name.endsWith(".jar"));
+        if (jars == null || jars.length == 0) {
+            throw new IllegalStateException("No application jar in " + target.getAbsolutePath()
+                    + "; run mvn package -DskipTests in the project root or pass --app-jar");
+        }
+        return jars[0].toPath();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.storeapplication.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe latency histogram in microseconds with three significant
+ * digits, so percentiles are exact to 0.1% from a microsecond up to an hour.
+ */
+class LatencyRecorder {
+
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+
+    void record(long nanos) {
+        histogram.recordValue(Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), HIGHEST_MICROS));
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency at the percentile, in milliseconds
+     */
+    double percentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    void reset() {
+        histogram.reset();
+    }
+
+    /**
+     * Writes the full percentile distribution in HdrHistogram's text format,
+     * readable by its plotter, with values in milliseconds.
+     */
+    void writeDistribution(PrintStream out) {
+        histogram.outputPercentileDistribution(out, 1000.0);
+    }
+}
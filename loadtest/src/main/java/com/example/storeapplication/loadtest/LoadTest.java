@@ -0,0 +1,179 @@
+package com.example.storeapplication.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-model load comparison of {@code POST /customer/basket/add} across
+ * API stacks. Every virtual user keeps one connection busy: it sends a
+ * request, waits for the answer and immediately sends the next one, reusing
+ * the basket token it was issued on its first call. A closed model hides
+ * server stalls from its latencies; for release figures use
+ * {@link MixedLoadTest}, which sends at a fixed rate.
+ * <p>
+ * Each target needs a product with the given id and enough stock for the
+ * whole run, seeded into its own database; the two stacks must never share
+ * one (see the README):
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java -Dexec.args="\
+ *   --target servlet=http://localhost:8080 --target reactive=http://localhost:8081 \
+ *   --product-id 1 --connections 1000,2500,5000,10000 --warmup 10s --duration 30s"
+ * </pre>
+ * The servlet application has to run with {@code store.basket.identity=token}
+ * so that both stacks read the {@code X-Basket-Token} header, and with
+ * {@code store.rate-limit.enabled=false} so that its per-client limits do not
+ * turn the comparison into a rate limiter test. At 10k
+ * connections raise the open file limit ({@code ulimit -n}) on both sides.
+ */
+public final class LoadTest {
+
+    private static final String TOKEN_HEADER = "X-Basket-Token";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .build();
+
+        System.out.printf("%-10s %11s %10s %8s %10s %8s %8s %8s%n",
+                "target", "connections", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, URI> target : options.targets.entrySet()) {
+            for (int connections : options.connections) {
+                URI uri = target.getValue().resolve("/customer/basket/add");
+                run(client, uri, options.productId, connections, options.warmup);
+                Result result = run(client, uri, options.productId, connections, options.duration);
+                System.out.printf("%-10s %11d %10d %8d %10.1f %8.1f %8.1f %8.1f%n",
+                        target.getKey(), connections, result.requests.sum(), result.errors.sum(),
+                        result.requests.sum() / (options.duration.toMillis() / 1000.0),
+                        result.latencies.percentile(50), result.latencies.percentile(99),
+                        result.latencies.percentile(100));
+            }
+        }
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, URI uri, long productId, int connections, Duration duration) {
+        Result result = new Result();
+        String body = "{\"productId\":" + productId + ",\"quantity\":1}";
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<CompletableFuture<Void>> users = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            users.add(new VirtualUser(client, uri, body, deadline, result).next());
+        }
+        CompletableFuture.allOf(users.toArray(CompletableFuture[]::new)).join();
+        return result;
+    }
+
+    /**
+     * Chains one request after another without holding a thread while waiting.
+     */
+    private static final class VirtualUser {
+
+        private final HttpClient client;
+        private final URI uri;
+        private final String body;
+        private final long deadline;
+        private final Result result;
+        private String token;
+
+        VirtualUser(HttpClient client, URI uri, String body, long deadline, Result result) {
+            this.client = client;
+            this.uri = uri;
+            this.body = body;
+            this.deadline = deadline;
+            this.result = result;
+        }
+
+        CompletableFuture<Void> next() {
+            if (System.nanoTime() >= deadline) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (token != null) {
+                request.header(TOKEN_HEADER, token);
+            }
+
+            long start = System.nanoTime();
+            return client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        result.latencies.record(System.nanoTime() - start);
+                        result.requests.increment();
+                        if (failure != null || response.statusCode() != 200) {
+                            result.errors.increment();
+                        } else if (token == null) {
+                            token = response.headers().firstValue(TOKEN_HEADER).orElse(null);
+                        }
+                        return null;
+                    })
+                    .thenCompose(ignored -> next());
+        }
+    }
+
+    private static final class Result {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyRecorder latencies = new LatencyRecorder();
+    }
+
+    private static final class Options {
+        private final Map<String, URI> targets = new LinkedHashMap<>();
+        private final List<Integer> connections = new ArrayList<>(List.of(1000, 2500, 5000, 10000));
+        private long productId = 1;
+        private Duration warmup = Duration.ofSeconds(10);
+        private Duration duration = Duration.ofSeconds(30);
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--target" -> {
+                        String[] target = value.split("=", 2);
+                        options.targets.put(target[0], URI.create(target[1]));
+                    }
+                    case "--connections" -> {
+                        options.connections.clear();
+                        for (String connections : value.split(",")) {
+                            options.connections.add(Integer.parseInt(connections.trim()));
+                        }
+                    }
+                    case "--product-id" -> options.productId = Long.parseLong(value);
+                    case "--warmup" -> options.warmup = parseDuration(value);
+                    case "--duration" -> options.duration = parseDuration(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (options.targets.isEmpty()) {
+                options.targets.put("servlet", URI.create("http://localhost:8080"));
+                options.targets.put("reactive", URI.create("http://localhost:8081"));
+            }
+            return options;
+        }
+
+        private static Duration parseDuration(String value) {
+            return value.endsWith("s") ?
+                    Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1))) :
+                    Duration.parse(value);
+        }
+    }
+}
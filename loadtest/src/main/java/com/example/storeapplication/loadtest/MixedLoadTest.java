@@ -0,0 +1,404 @@
+package com.example.storeapplication.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-model load test of the customer API with a realistic mix of product
+ * listings, basket changes and receipts.
+ * <p>
+ * Requests are started on a fixed schedule ({@code --rate} per second, evenly
+ * spaced or as a Poisson process) whether or not earlier ones have finished,
+ * the way independent shoppers arrive. Latency is measured from the moment a
+ * request was due, not from when it was sent, so a server stall shows up in
+ * every request that should have been sent during it instead of in one slow
+ * sample (coordinated omission). The uncorrected figure is reported next to
+ * it; a large gap between the two means the generator fell behind.
+ * <p>
+ * By default the application is started from {@code ../target} on embedded
+ * H2 and seeded through the admin API:
+ * <pre>
+ * mvn -q package -DskipTests
+ * mvn -f loadtest/pom.xml compile exec:java \
+ *   -Dexec.mainClass=com.example.storeapplication.loadtest.MixedLoadTest \
+ *   -Dexec.args="--rate 500 --warmup 20s --duration 60s --mix products=60,add=20,remove=10,receipt=10"
+ * </pre>
+ * Pass {@code --target http://host:port} to load an instance that is already
+ * running; it needs {@code store.basket.identity=token} and rate limiting off.
+ * Per-endpoint distributions are written to {@code --report-dir} as
+ * {@code .hgrm} files.
+ */
+public final class MixedLoadTest {
+
+    private static final String TOKEN_HEADER = "X-Basket-Token";
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private static final String[] CATEGORIES = {"ELECTRONICS", "COMPUTERS", "MOBILE", "GAMING", "AUDIO", "ACCESSORIES"};
+
+    enum Operation {
+        PRODUCTS, ADD, REMOVE, RECEIPT
+    }
+
+    private MixedLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2))
+                .build();
+
+        AppProcess app = null;
+        try {
+            URI target = options.target;
+            if (target == null) {
+                Path jar = options.appJar != null ? options.appJar : AppProcess.defaultJar();
+                System.out.println("Starting " + jar + " on port " + options.port);
+                app = AppProcess.start(jar, options.port, options.jvmArgs, Duration.ofMinutes(2));
+                target = app.baseUri();
+            }
+
+            List<Long> productIds = seed(client, target, options.products);
+            System.out.printf("Seeded %d products; warming up for %s%n", productIds.size(), options.warmup);
+
+            Run warmup = new Run(client, target, options, productIds);
+            warmup.drive(options.warmup);
+            Run run = new Run(client, target, options, productIds);
+            run.drive(options.duration);
+            run.report(System.out, options.duration);
+            run.writeDistributions(options.reportDir);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Creates products with enough stock for the whole run and a deal on
+     * every fourth one so receipts exercise pricing.
+     */
+    private static List<Long> seed(HttpClient client, URI target, int products) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String product = String.format("{\"name\":\"Load product %d\",\"description\":\"Seeded by the load test\","
+                    + "\"price\":%d.99,\"category\":\"%s\",\"stock\":10000000}", i, 5 + i % 500, CATEGORIES[i % CATEGORIES.length]);
+            String created = post(client, target.resolve("/admin/products"), product);
+            Matcher id = ID.matcher(created);
+            if (!id.find()) {
+                throw new IllegalStateException("No product id in " + created);
+            }
+            long productId = Long.parseLong(id.group(1));
+            ids.add(productId);
+            if (i % 4 == 0) {
+                post(client, target.resolve("/admin/deals"), String.format("{\"productId\":%d,\"description\":\"10%% off\","
+                        + "\"buyQuantity\":1,\"discountPercentage\":10,\"expirationDate\":\"%s\"}",
+                        productId, LocalDateTime.now().plusDays(1).withNano(0)));
+            }
+        }
+        return ids;
+    }
+
+    private static String post(HttpClient client, URI uri, String json) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + uri + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    /**
+     * One phase of the test: sends on schedule and records per-operation
+     * latencies.
+     */
+    private static final class Run {
+
+        private final HttpClient client;
+        private final URI target;
+        private final Options options;
+        private final List<Long> productIds;
+        private final Shopper[] shoppers;
+        private final Semaphore inFlight;
+        private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        private final LongAdder skipped = new LongAdder();
+        private long lateStarts;
+        private long maxStartDelayNanos;
+
+        Run(HttpClient client, URI target, Options options, List<Long> productIds) {
+            this.client = client;
+            this.target = target;
+            this.options = options;
+            this.productIds = productIds;
+            this.shoppers = new Shopper[options.shoppers];
+            for (int i = 0; i < shoppers.length; i++) {
+                shoppers[i] = new Shopper();
+            }
+            this.inFlight = new Semaphore(options.maxInFlight);
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new Stats());
+            }
+        }
+
+        void drive(Duration duration) {
+            double meanIntervalNanos = 1e9 / options.rate;
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+            double due = start;
+            while (due < end) {
+                long intended = (long) due;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (-wait > 1_000_000) {
+                    lateStarts++;
+                }
+                maxStartDelayNanos = Math.max(maxStartDelayNanos, -wait);
+                send(intended);
+                due += options.poisson ?
+                        -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos :
+                        meanIntervalNanos;
+            }
+            // Wait for stragglers so they are counted in this phase
+            inFlight.acquireUninterruptibly(options.maxInFlight);
+            inFlight.release(options.maxInFlight);
+        }
+
+        private void send(long intended) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Shopper shopper = shoppers[random.nextInt(shoppers.length)];
+            Operation operation = shopper.feasible(options.pick(random.nextInt(options.totalWeight)));
+            Stats operationStats = stats.get(operation);
+
+            if (!inFlight.tryAcquire()) {
+                // The generator's own limit, not the server's; reported separately
+                skipped.increment();
+                return;
+            }
+            long productId = operation == Operation.REMOVE ? shopper.anyItem() : productIds.get(random.nextInt(productIds.size()));
+            HttpRequest request = request(operation, shopper, productId, random);
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                long now = System.nanoTime();
+                operationStats.corrected.record(now - intended);
+                operationStats.uncorrected.record(now - sent);
+                if (failure != null || response.statusCode() != 200) {
+                    operationStats.errors.increment();
+                } else {
+                    shopper.completed(operation, productId, response.headers().firstValue(TOKEN_HEADER).orElse(null));
+                }
+                inFlight.release();
+            });
+        }
+
+        private HttpRequest request(Operation operation, Shopper shopper, long productId, ThreadLocalRandom random) {
+            HttpRequest.Builder builder;
+            switch (operation) {
+                // The listing query matches nothing unless every filter is given
+                case PRODUCTS -> builder = HttpRequest.newBuilder(target.resolve("/customer/products?category="
+                        + CATEGORIES[random.nextInt(CATEGORIES.length)] + "&minPrice=0&maxPrice=1000&available=true"
+                        + "&size=20&page=" + random.nextInt(Math.max(1, productIds.size() / (20 * CATEGORIES.length)))));
+                case ADD, REMOVE -> builder = HttpRequest.newBuilder(target.resolve(operation == Operation.ADD ?
+                                "/customer/basket/add" : "/customer/basket/remove"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":" + productId + ",\"quantity\":1}"));
+                default -> builder = HttpRequest.newBuilder(target.resolve("/customer/basket/receipt"));
+            }
+            String token = shopper.token;
+            if (token != null) {
+                builder.header(TOKEN_HEADER, token);
+            }
+            return builder.timeout(Duration.ofSeconds(30)).build();
+        }
+
+        void report(PrintStream out, Duration duration) {
+            out.printf("%n%-9s %9s %7s %9s %9s %9s %9s %9s %9s %12s%n", "operation", "requests", "errors", "req/s",
+                    "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 uncorr.");
+            LatencyRecorder all = null;
+            long requests = 0;
+            long errors = 0;
+            for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+                Stats operationStats = entry.getValue();
+                requests += operationStats.corrected.count();
+                errors += operationStats.errors.sum();
+                row(out, entry.getKey().name().toLowerCase(), operationStats, duration);
+            }
+            out.printf("%ntotal %d requests, %d errors, %.1f req/s against %.1f scheduled%n",
+                    requests, errors, requests / seconds(duration), options.rate);
+            if (skipped.sum() > 0 || lateStarts > 0) {
+                out.printf("generator: %d requests skipped at %d in flight, %d started over 1 ms late (worst %.1f ms)%n",
+                        skipped.sum(), options.maxInFlight, lateStarts, maxStartDelayNanos / 1e6);
+            }
+        }
+
+        private static void row(PrintStream out, String name, Stats stats, Duration duration) {
+            LatencyRecorder latencies = stats.corrected;
+            out.printf("%-9s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n", name, latencies.count(),
+                    stats.errors.sum(), latencies.count() / seconds(duration), latencies.percentile(50),
+                    latencies.percentile(90), latencies.percentile(99), latencies.percentile(99.9),
+                    latencies.percentile(100), stats.uncorrected.percentile(99));
+        }
+
+        void writeDistributions(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+                String name = entry.getKey().name().toLowerCase();
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+                    entry.getValue().corrected.writeDistribution(out);
+                }
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + "-uncorrected.hgrm")))) {
+                    entry.getValue().uncorrected.writeDistribution(out);
+                }
+            }
+            System.out.println("Latency distributions written to " + directory.toAbsolutePath());
+        }
+
+        private static double seconds(Duration duration) {
+            return duration.toMillis() / 1000.0;
+        }
+    }
+
+    /**
+     * A returning customer: keeps the basket token and the products in the
+     * basket so removes and receipts refer to something that exists.
+     */
+    private static final class Shopper {
+
+        private volatile String token;
+
+        private final List<Long> items = new ArrayList<>();
+
+        synchronized Operation feasible(Operation wanted) {
+            if (wanted == Operation.REMOVE && items.isEmpty()) {
+                return Operation.ADD;
+            }
+            if (wanted == Operation.RECEIPT && token == null) {
+                return Operation.PRODUCTS;
+            }
+            return wanted;
+        }
+
+        synchronized long anyItem() {
+            return items.isEmpty() ? -1 : items.get(ThreadLocalRandom.current().nextInt(items.size()));
+        }
+
+        synchronized void completed(Operation operation, long productId, String issuedToken) {
+            if (token == null && issuedToken != null) {
+                token = issuedToken;
+            }
+            if (operation == Operation.ADD) {
+                items.add(productId);
+            } else if (operation == Operation.REMOVE) {
+                items.remove(productId);
+            }
+        }
+    }
+
+    private static final class Stats {
+        private final LatencyRecorder corrected = new LatencyRecorder();
+        private final LatencyRecorder uncorrected = new LatencyRecorder();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private static final class Options {
+        private URI target;
+        private Path appJar;
+        private int port = 18080;
+        private final List<String> jvmArgs = new ArrayList<>(List.of("-Xmx1g"));
+        private double rate = 200;
+        private boolean poisson;
+        private Duration warmup = Duration.ofSeconds(20);
+        private Duration duration = Duration.ofSeconds(60);
+        private int products = 200;
+        private int shoppers = 1000;
+        private int maxInFlight = 10_000;
+        private Path reportDir = Path.of("target", "loadtest");
+        private final Map<Operation, Integer> mix = new EnumMap<>(Map.of(
+                Operation.PRODUCTS, 60, Operation.ADD, 20, Operation.REMOVE, 10, Operation.RECEIPT, 10));
+        private int totalWeight = 100;
+
+        Operation pick(int ticket) {
+            int seen = 0;
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                seen += entry.getValue();
+                if (ticket < seen) {
+                    return entry.getKey();
+                }
+            }
+            return Operation.PRODUCTS;
+        }
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--target" -> options.target = URI.create(value);
+                    case "--app-jar" -> options.appJar = Path.of(value);
+                    case "--port" -> options.port = Integer.parseInt(value);
+                    case "--jvm-args" -> {
+                        options.jvmArgs.clear();
+                        options.jvmArgs.addAll(List.of(value.trim().split("\\s+")));
+                    }
+                    case "--rate" -> options.rate = Double.parseDouble(value);
+                    case "--arrivals" -> options.poisson = switch (value) {
+                        case "poisson" -> true;
+                        case "uniform" -> false;
+                        default -> throw new IllegalArgumentException("--arrivals is uniform or poisson");
+                    };
+                    case "--warmup" -> options.warmup = parseDuration(value);
+                    case "--duration" -> options.duration = parseDuration(value);
+                    case "--products" -> options.products = Integer.parseInt(value);
+                    case "--shoppers" -> options.shoppers = Integer.parseInt(value);
+                    case "--max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                    case "--report-dir" -> options.reportDir = Path.of(value);
+                    case "--mix" -> {
+                        options.mix.replaceAll((operation, weight) -> 0);
+                        for (String part : value.split(",")) {
+                            String[] weight = part.split("=", 2);
+                            options.mix.put(Operation.valueOf(weight[0].trim().toUpperCase()),
+                                    Integer.parseInt(weight[1].trim()));
+                        }
+                        options.totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+                        if (options.totalWeight <= 0) {
+                            throw new IllegalArgumentException("--mix needs at least one positive weight");
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            return options;
+        }
+
+        private static Duration parseDuration(String value) {
+            return value.endsWith("s") ?
+                    Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1))) :
+                    Duration.parse(value);
+        }
+    }
+}
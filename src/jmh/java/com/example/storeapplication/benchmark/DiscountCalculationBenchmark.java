@@ -0,0 +1,63 @@
+package com.example.storeapplication.benchmark;
+
+import com.example.storeapplication.domain.Basket;
+import com.example.storeapplication.domain.BasketItem;
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.service.impl.ReceiptCalculationServiceImpl;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code calculateDiscount} call per deal type and line quantity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountCalculationBenchmark {
+
+    @Param({"PERCENTAGE", "FIXED_AMOUNT", "BUY_X_GET_Y"})
+    private ReceiptPricingBenchmark.DealType dealType;
+
+    @Param({"1", "3", "100"})
+    private int quantity;
+
+    private ReceiptCalculationServiceImpl service;
+
+    private BasketItem item;
+
+    private Deal deal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Product product = new Product("Product", "Benchmark product", new BigDecimal("4.99"), Category.ELECTRONICS, 1_000);
+        product.setId(1L);
+        item = new BasketItem(new Basket("benchmark-session"), product, quantity);
+        deal = ReceiptPricingBenchmark.deal(product, dealType);
+        service = new ReceiptCalculationServiceImpl(StubDealRepository.of(Map.of()), new CompositeMeterRegistry());
+    }
+
+    @Benchmark
+    public BigDecimal calculateDiscount() {
+        return service.calculateDiscount(item, deal);
+    }
+}
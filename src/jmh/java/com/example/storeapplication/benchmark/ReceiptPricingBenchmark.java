@@ -0,0 +1,101 @@
+package com.example.storeapplication.benchmark;
+
+import com.example.storeapplication.domain.Basket;
+import com.example.storeapplication.domain.BasketItem;
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.service.impl.ReceiptCalculationServiceImpl;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of pricing a receipt: subtotal, deal lookup against a stubbed
+ * repository and discount calculation. Meters go to an empty composite
+ * registry, which discards them, so the figures are pricing alone.
+ * <p>
+ * {@code dealDensity} is the share of basket lines whose product has an
+ * active deal; every deal in a run is of {@code dealType}. A single
+ * discount is measured by {@link DiscountCalculationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiptPricingBenchmark {
+
+    public enum DealType {
+        PERCENTAGE, FIXED_AMOUNT, BUY_X_GET_Y
+    }
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int basketLines;
+
+    @Param({"0.0", "0.25", "1.0"})
+    private double dealDensity;
+
+    @Param({"PERCENTAGE", "FIXED_AMOUNT", "BUY_X_GET_Y"})
+    private DealType dealType;
+
+    private ReceiptCalculationServiceImpl service;
+
+    private Basket basket;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        basket = new Basket("benchmark-session");
+        Map<Long, List<Deal>> dealsByProduct = new HashMap<>();
+        int withDeal = (int) Math.round(dealDensity * 100);
+        for (int i = 0; i < basketLines; i++) {
+            Product product = new Product("Product " + i, "Benchmark product",
+                    BigDecimal.valueOf(100 + i % 900, 2), Category.ELECTRONICS, 1_000);
+            product.setId((long) i);
+            basket.getItems().add(new BasketItem(basket, product, 1 + i % 5));
+            if (i % 100 < withDeal) {
+                dealsByProduct.put(product.getId(), List.of(deal(product, dealType)));
+            }
+        }
+        service = new ReceiptCalculationServiceImpl(StubDealRepository.of(dealsByProduct), new CompositeMeterRegistry());
+    }
+
+    @Benchmark
+    public ReceiptResponse calculateReceipt() {
+        return service.calculateReceipt(basket);
+    }
+
+    static Deal deal(Product product, DealType type) {
+        Deal.DealBuilder builder = Deal.builder()
+                .id(product.getId())
+                .product(product)
+                .expirationDate(LocalDateTime.now().plusYears(1));
+        return switch (type) {
+            case PERCENTAGE -> builder.description("10% off").buyQuantity(1)
+                    .discountPercentage(BigDecimal.TEN).build();
+            case FIXED_AMOUNT -> builder.description("0.50 off every 2").buyQuantity(2)
+                    .discountAmount(new BigDecimal("0.50")).build();
+            case BUY_X_GET_Y -> builder.description("Buy 2 get 1 free").buyQuantity(2).getQuantity(1)
+                    .discountPercentage(BigDecimal.valueOf(100)).build();
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.storeapplication.benchmark;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.repository.DealRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link DealRepository} answering {@code findActiveDealsForProduct} from a
+ * map, so pricing benchmarks measure CPU rather than the database. Every
+ * other method throws.
+ */
+final class StubDealRepository {
+
+    private StubDealRepository() {
+    }
+
+    static DealRepository of(Map<Long, List<Deal>> dealsByProduct) {
+        return (DealRepository) Proxy.newProxyInstance(DealRepository.class.getClassLoader(),
+                new Class<?>[]{DealRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findActiveDealsForProduct" -> dealsByProduct.getOrDefault((Long) args[0], List.of());
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubDealRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.storeapplication.domain;
+
+import com.example.storeapplication.enums.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput and latency of {@link Basket#addItem} and
+ * {@link Basket#removeItem} on one basket shared by every thread. Both take
+ * the basket's lock. With {@code SHARED} all threads change the quantity of
+ * the same line, with {@code DISJOINT} each group has its own product and
+ * line, so only the lock and the line scan are shared. The product belongs to
+ * the group, not the thread, so the adding and removing threads of an
+ * {@code addRemove} group always work on the same line.
+ * <p>
+ * After each iteration the quantity left on every line is compared with the
+ * successful adds and removes; any difference is printed as lost updates and
+ * fails the run with {@code -p failOnLostUpdates=true}. Thread counts come
+ * from {@code -t}, as in {@link StockContentionBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BasketContentionBenchmark {
+
+    private static final int MAX_THREADS = StockContentionBenchmark.MAX_THREADS;
+
+    private static final int STRIDE = 16;
+
+    @State(Scope.Benchmark)
+    public static class SharedBasket {
+
+        @Param({"SHARED", "DISJOINT"})
+        StockContentionBenchmark.Workload workload;
+
+        @Param({"false"})
+        boolean failOnLostUpdates;
+
+        final AtomicInteger nextIndex = new AtomicInteger();
+
+        final AtomicInteger nextLine = new AtomicInteger();
+
+        final Product[] products = new Product[MAX_THREADS];
+
+        final long[] added = new long[MAX_THREADS * STRIDE];
+
+        final long[] removed = new long[MAX_THREADS * STRIDE];
+
+        Basket basket;
+
+        @Setup(Level.Trial)
+        public void createProducts() {
+            for (int i = 0; i < MAX_THREADS; i++) {
+                products[i] = new Product("Product " + i, "Benchmark product", BigDecimal.ONE, Category.ELECTRONICS, 0);
+                products[i].setId((long) i);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            basket = new Basket("benchmark-session");
+            Arrays.fill(added, 0);
+            Arrays.fill(removed, 0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void verify() {
+            long expected = 0;
+            for (int i = 0; i < MAX_THREADS; i++) {
+                expected += added[i * STRIDE] - removed[i * STRIDE];
+            }
+            long actual = basket.getItems().stream().mapToLong(BasketItem::getQuantity).sum();
+            long lostUpdates = Math.abs(expected - actual);
+            if (lostUpdates > 0) {
+                System.out.printf("%n%s: %d lost basket updates%n", workload, lostUpdates);
+                if (failOnLostUpdates) {
+                    throw new IllegalStateException(lostUpdates + " basket updates were lost under " + workload);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Group)
+    public static class Line {
+
+        Product product;
+
+        @Setup(Level.Trial)
+        public void assign(SharedBasket shared) {
+            int index = shared.nextLine.getAndIncrement() % MAX_THREADS;
+            product = shared.products[shared.workload == StockContentionBenchmark.Workload.SHARED ? 0 : index];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Shopper {
+
+        int slot;
+
+        @Setup(Level.Trial)
+        public void assign(SharedBasket shared) {
+            slot = (shared.nextIndex.getAndIncrement() % MAX_THREADS) * STRIDE;
+        }
+    }
+
+    @Benchmark
+    @Group("add")
+    @GroupThreads(1)
+    public void addOnly(SharedBasket shared, Line line, Shopper shopper) {
+        add(shared, line, shopper);
+    }
+
+    @Benchmark
+    @Group("addRemove")
+    @GroupThreads(1)
+    public void add(SharedBasket shared, Line line, Shopper shopper) {
+        shared.basket.addItem(line.product, 1);
+        shared.added[shopper.slot]++;
+    }
+
+    @Benchmark
+    @Group("addRemove")
+    @GroupThreads(1)
+    public boolean remove(SharedBasket shared, Line line, Shopper shopper) {
+        boolean removed = shared.basket.removeItem(line.product.getId(), 1);
+        if (removed) {
+            shared.removed[shopper.slot]++;
+        }
+        return removed;
+    }
+}
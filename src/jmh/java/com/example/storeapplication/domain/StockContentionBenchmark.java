@@ -0,0 +1,221 @@
+package com.example.storeapplication.domain;
+
+import com.example.storeapplication.enums.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Throughput and latency of {@link Product#decrementStock} and
+ * {@link Product#incrementStock} under contention. With {@code SHARED} every
+ * thread works on one product, with {@code DISJOINT} each group has its own,
+ * so the reserving and releasing threads of a {@code reserveRelease} group
+ * always share theirs.
+ * {@code guard=LOCK} wraps each call in one lock shared by all threads, like
+ * the stock lock in {@code CustomerServiceImpl}; {@code NONE} calls the
+ * entity as it is, which is not thread-safe.
+ * <p>
+ * Every thread counts the calls that succeeded. After each iteration the
+ * stock left is compared with what those counts imply; the difference is
+ * printed as lost updates, and {@code -p failOnLostUpdates=true} fails the
+ * run instead. Exceptions from the unsynchronized event list are counted and
+ * reported too.
+ * <p>
+ * Thread counts come from the command line, e.g. {@code -t 1}, {@code -t 8}
+ * and {@code -t 64}; each group adds one reserving and one releasing thread
+ * per instance.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockContentionBenchmark {
+
+    static final int MAX_THREADS = 256;
+
+    // Per-thread counters are spaced a cache line apart so counting does not add contention
+    private static final int STRIDE = 16;
+
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE / 2;
+
+    public enum Workload {
+        SHARED, DISJOINT
+    }
+
+    public enum Guard {
+        NONE, LOCK
+    }
+
+    @State(Scope.Benchmark)
+    public static class Stock {
+
+        @Param({"SHARED", "DISJOINT"})
+        Workload workload;
+
+        @Param({"NONE", "LOCK"})
+        Guard guard;
+
+        @Param({"false"})
+        boolean failOnLostUpdates;
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        final AtomicInteger nextIndex = new AtomicInteger();
+
+        final AtomicInteger nextPair = new AtomicInteger();
+
+        final Product[] products = new Product[MAX_THREADS];
+
+        final long[] reserved = new long[MAX_THREADS * STRIDE];
+
+        final long[] released = new long[MAX_THREADS * STRIDE];
+
+        final long[] failures = new long[MAX_THREADS * STRIDE];
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            for (int i = 0; i < MAX_THREADS; i++) {
+                products[i] = new Product("Product " + i, "Benchmark product", BigDecimal.ONE,
+                        Category.ELECTRONICS, INITIAL_STOCK);
+                products[i].setId((long) i);
+            }
+            Arrays.fill(reserved, 0);
+            Arrays.fill(released, 0);
+            Arrays.fill(failures, 0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void verify() {
+            long expectedStock = 0;
+            long actualStock = 0;
+            long failed = 0;
+            for (int i = 0; i < MAX_THREADS; i++) {
+                expectedStock += (long) INITIAL_STOCK - reserved[i * STRIDE] + released[i * STRIDE];
+                actualStock += products[i].getStock();
+                failed += failures[i * STRIDE];
+            }
+            long lostUpdates = Math.abs(expectedStock - actualStock);
+            if (lostUpdates > 0 || failed > 0) {
+                System.out.printf("%n%s/%s: %d lost stock updates, %d event list failures%n",
+                        workload, guard, lostUpdates, failed);
+            }
+            if (failOnLostUpdates && lostUpdates > 0) {
+                throw new IllegalStateException(lostUpdates + " stock updates were lost under " + workload + "/" + guard);
+            }
+        }
+    }
+
+    @State(Scope.Group)
+    public static class Pair {
+
+        Product product;
+
+        int index;
+
+        @Setup(Level.Trial)
+        public void assignIndex(Stock stock) {
+            index = stock.nextPair.getAndIncrement() % MAX_THREADS;
+        }
+
+        @Setup(Level.Iteration)
+        public void bind(Stock stock) {
+            product = stock.products[stock.workload == Workload.SHARED ? 0 : index];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Worker {
+
+        int slot;
+
+        @Setup(Level.Trial)
+        public void assignSlot(Stock stock) {
+            slot = (stock.nextIndex.getAndIncrement() % MAX_THREADS) * STRIDE;
+        }
+    }
+
+    @Benchmark
+    @Group("reserve")
+    @GroupThreads(1)
+    public boolean reserveOnly(Stock stock, Pair pair, Worker worker) {
+        return reserve(stock, pair, worker);
+    }
+
+    @Benchmark
+    @Group("reserveRelease")
+    @GroupThreads(1)
+    public boolean reserve(Stock stock, Pair pair, Worker worker) {
+        if (stock.guard == Guard.LOCK) {
+            stock.lock.lock();
+        }
+        try {
+            boolean reserved;
+            try {
+                reserved = pair.product.decrementStock(1);
+            } catch (RuntimeException e) {
+                // Only the event list throws, after the stock has changed
+                stock.failures[worker.slot]++;
+                reserved = true;
+            }
+            if (reserved) {
+                stock.reserved[worker.slot]++;
+            }
+            clearEvents(stock, pair, worker);
+            return reserved;
+        } finally {
+            if (stock.guard == Guard.LOCK) {
+                stock.lock.unlock();
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("reserveRelease")
+    @GroupThreads(1)
+    public void release(Stock stock, Pair pair, Worker worker) {
+        if (stock.guard == Guard.LOCK) {
+            stock.lock.lock();
+        }
+        try {
+            try {
+                pair.product.incrementStock(1);
+            } catch (RuntimeException e) {
+                stock.failures[worker.slot]++;
+            }
+            stock.released[worker.slot]++;
+            clearEvents(stock, pair, worker);
+        } finally {
+            if (stock.guard == Guard.LOCK) {
+                stock.lock.unlock();
+            }
+        }
+    }
+
+    // Saving through the repository clears the events in the application; here they would pile up
+    private static void clearEvents(Stock stock, Pair pair, Worker worker) {
+        try {
+            pair.product.clearStockEvents();
+        } catch (RuntimeException e) {
+            stock.failures[worker.slot]++;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.storeapplication.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} methods run on Boot's {@code applicationTaskExecutor}, which
+ * switches to virtual threads with the {@code virtual-threads} profile.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
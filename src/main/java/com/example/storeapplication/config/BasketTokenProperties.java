@@ -0,0 +1,25 @@
+package com.example.storeapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "store.basket.token")
+public class BasketTokenProperties {
+
+    /**
+     * HMAC key for basket tokens, at least 32 bytes. Must be shared by all instances.
+     */
+    private String secret;
+
+    /**
+     * Keep honouring JSESSIONID cookies from session mode while clients migrate.
+     */
+    private boolean acceptLegacySessionIds = true;
+
+    private Duration cookieMaxAge = Duration.ofDays(30);
+}
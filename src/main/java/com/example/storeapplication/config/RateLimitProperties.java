@@ -0,0 +1,33 @@
+package com.example.storeapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "store.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Burst size: requests a client may send at once after being idle.
+     */
+    private int capacity = 20;
+
+    /**
+     * Sustained requests per second per client.
+     */
+    private int refillPerSecond = 10;
+
+    /**
+     * Clients tracked at once; new clients are shed while the table is full.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Basket requests processed concurrently before new ones are shed; 0 disables the limit.
+     */
+    private int maxInFlight = 100;
+}
@@ -0,0 +1,39 @@
+package com.example.storeapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "store.seed")
+public class SeedProperties {
+
+    /**
+     * Generate a synthetic dataset on startup; the {@code seed} profile turns this on.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Random seed; the same seed and counts always produce the same rows.
+     */
+    private long seed = 42;
+
+    private int products = 1_000_000;
+
+    private int deals = 50_000;
+
+    private int baskets = 10_000;
+
+    private int maxBasketItems = 5;
+
+    /**
+     * Zipf exponent for product popularity when picking products for deals and baskets; 0 is uniform.
+     */
+    private double popularitySkew = 1.0;
+
+    /**
+     * Rows per JDBC batch.
+     */
+    private int batchSize = 1_000;
+}
@@ -0,0 +1,45 @@
+package com.example.storeapplication.config;
+
+import com.example.storeapplication.sql.SqlStatementAspect;
+import com.example.storeapplication.sql.SqlStatementCounter;
+import com.example.storeapplication.sql.SqlStatementFilter;
+import com.example.storeapplication.sql.SqlStatementReporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Statement counting for spotting N+1 queries, enabled with
+ * {@code store.sql-diagnostics.enabled}. Meant for development and tests.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "store.sql-diagnostics", name = "enabled", havingValue = "true")
+public class SqlDiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public SqlStatementReporter sqlStatementReporter(MeterRegistry meterRegistry, SqlDiagnosticsProperties properties) {
+        return new SqlStatementReporter(meterRegistry, properties.getRepeatedStatementThreshold());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(SqlStatementReporter reporter) {
+        FilterRegistrationBean<SqlStatementFilter> registration = new FilterRegistrationBean<>(new SqlStatementFilter(reporter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public SqlStatementAspect sqlStatementAspect(SqlStatementReporter reporter) {
+        return new SqlStatementAspect(reporter);
+    }
+}
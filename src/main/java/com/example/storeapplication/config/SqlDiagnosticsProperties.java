@@ -0,0 +1,21 @@
+package com.example.storeapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "store.sql-diagnostics")
+public class SqlDiagnosticsProperties {
+
+    /**
+     * Count statements per request and service method and add the X-DB-Statements header.
+     */
+    private boolean enabled = false;
+
+    /**
+     * An identical statement prepared more than this many times in one request or method is logged as a likely N+1.
+     */
+    private int repeatedStatementThreshold = 5;
+}
@@ -0,0 +1,18 @@
+package com.example.storeapplication.config;
+
+import com.example.storeapplication.lock.InstrumentedLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StockLockConfig {
+
+    /**
+     * Serialises stock reservations and returns in the basket flows.
+     */
+    @Bean
+    public InstrumentedLock stockLock(MeterRegistry meterRegistry) {
+        return new InstrumentedLock("stock", "store.stock.lock", meterRegistry);
+    }
+}
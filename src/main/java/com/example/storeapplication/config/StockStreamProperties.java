@@ -0,0 +1,48 @@
+package com.example.storeapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "store.stock-stream")
+public class StockStreamProperties {
+
+    /**
+     * How often pending changes are sent; changes to the same product within one interval are merged.
+     */
+    private Duration flushInterval = Duration.ofMillis(250);
+
+    /**
+     * A comment line is sent after this much silence so proxies keep the connection open.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * A subscriber whose previous send has not finished after this long is disconnected.
+     */
+    private Duration slowConsumerTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Lifetime of one stream; clients reconnect afterwards.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Open streams across all clients; further subscriptions are rejected with 503.
+     */
+    private int maxSubscribers = 10_000;
+
+    /**
+     * Threads writing events to streams; a client that stops reading blocks one until it is disconnected.
+     */
+    private int senderThreads = 16;
+
+    /**
+     * Product ids one stream may watch.
+     */
+    private int maxProductsPerSubscriber = 200;
+}
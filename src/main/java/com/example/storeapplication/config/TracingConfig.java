@@ -0,0 +1,62 @@
+package com.example.storeapplication.config;
+
+import com.example.storeapplication.tracing.LocalTracer;
+import com.example.storeapplication.tracing.TraceStore;
+import com.example.storeapplication.tracing.TracesEndpoint;
+import com.example.storeapplication.tracing.TracingAspect;
+import com.example.storeapplication.tracing.TracingDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * In-process tracing of controller, service, repository and SQL spans,
+ * enabled with {@code store.tracing.enabled}. Traces stay in memory and are
+ * read from {@code /actuator/traces}; no collector is involved.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "store.tracing", name = "enabled", havingValue = "true")
+public class TracingConfig {
+
+    @Bean
+    public TraceStore traceStore(TracingProperties properties) {
+        return new TraceStore(properties.getCapacity());
+    }
+
+    @Bean
+    public LocalTracer localTracer(TraceStore traceStore, TracingProperties properties) {
+        return new LocalTracer(traceStore, properties.getRootObservations(), properties.getSampleRate(),
+                properties.getMaxSpansPerTrace());
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(ObservationRegistry observationRegistry, LocalTracer localTracer) {
+        return new TracingAspect(observationRegistry, localTracer);
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(TraceStore traceStore) {
+        return new TracesEndpoint(traceStore);
+    }
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<ObservationRegistry> observationRegistry,
+                                                                  ObjectProvider<LocalTracer> localTracer,
+                                                                  ObjectProvider<TracingProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource(dataSource, observationRegistry::getObject, localTracer::getObject,
+                            properties.getObject().getMaxSqlLength());
+                }
+                return bean;
+            }
+        };
+    }
+}
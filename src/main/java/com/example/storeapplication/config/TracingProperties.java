@@ -0,0 +1,44 @@
+package com.example.storeapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "store.tracing")
+public class TracingProperties {
+
+    /**
+     * Record spans for sampled requests and serve them from /actuator/traces.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Names of the parentless observations that start a trace; scheduled tasks and other roots are ignored.
+     */
+    private List<String> rootObservations = new ArrayList<>(List.of("http.server.requests"));
+
+    /**
+     * Fraction of traces recorded, decided when the outermost observation starts.
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Finished traces kept in memory; the oldest is dropped first.
+     */
+    private int capacity = 500;
+
+    /**
+     * Spans kept per trace; further spans are only counted.
+     */
+    private int maxSpansPerTrace = 500;
+
+    /**
+     * SQL longer than this is truncated in span names.
+     */
+    private int maxSqlLength = 200;
+}
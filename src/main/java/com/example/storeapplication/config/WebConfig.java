@@ -0,0 +1,34 @@
+package com.example.storeapplication.config;
+
+import com.example.storeapplication.ratelimit.RateLimitInterceptor;
+import com.example.storeapplication.web.ProductJsonCache;
+import com.example.storeapplication.web.ProductPageJsonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@AllArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    private final ProductJsonCache productJsonCache;
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/customer/basket/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ProductPageJsonHttpMessageConverter(objectMapper, productJsonCache));
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.storeapplication.controller;
 
 
-import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.dto.DealArchiveResponse;
+import com.example.storeapplication.dto.DealBulkCreateRequest;
+import com.example.storeapplication.dto.DealBulkCreateResponse;
+import com.example.storeapplication.dto.CursorPageResponse;
 import com.example.storeapplication.dto.DealCreateRequest;
+import com.example.storeapplication.dto.DealResponse;
 import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductBulkUpdateRequest;
+import com.example.storeapplication.dto.ProductBulkUpdateResponse;
 import com.example.storeapplication.dto.ProductCreateRequest;
 import com.example.storeapplication.dto.ProductResponse;
 import com.example.storeapplication.service.AdminService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +40,13 @@ public class AdminController {
         return ResponseEntity.ok("Product removed successfully");
     }
 
+    @PatchMapping("/products/bulk")
+    public ResponseEntity<ProductBulkUpdateResponse> bulkUpdateProducts(
+            @Valid @RequestBody ProductBulkUpdateRequest request) {
+        ProductBulkUpdateResponse response = adminService.bulkUpdateProducts(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/products")
     public ResponseEntity<PageResponse<ProductResponse>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
@@ -49,12 +64,39 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(product);
     }
 
+    @PostMapping("/deals/bulk")
+    public ResponseEntity<DealBulkCreateResponse> createDeals(@Valid @RequestBody DealBulkCreateRequest request) {
+        DealBulkCreateResponse response = adminService.createDeals(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/deals")
-    public ResponseEntity<PageResponse<Deal>> getAllDeals(
+    public ResponseEntity<PageResponse<DealResponse>> getAllDeals(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        PageResponse<DealResponse> deals = adminService.getAllDeals(page, size);
+        return ResponseEntity.ok(deals);
+    }
+
+    @GetMapping("/deals/keyset")
+    public ResponseEntity<CursorPageResponse<DealResponse>> getDeals(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = 100, message = "Size must be at most 100") int size) {
+
+        CursorPageResponse<DealResponse> deals = adminService.getDeals(cursor, size);
+        return ResponseEntity.ok(deals);
+    }
+
+    @GetMapping("/deals/archive")
+    public ResponseEntity<PageResponse<DealArchiveResponse>> getArchivedDeals(
+            @RequestParam(required = false) Long productId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
-        PageResponse<Deal> deals = adminService.getAllDeals(page, size);
+        PageResponse<DealArchiveResponse> deals = adminService.getArchivedDeals(productId, page, size);
         return ResponseEntity.ok(deals);
     }
 
@@ -3,7 +3,9 @@ package com.example.storeapplication.controller;
 import com.example.storeapplication.dto.*;
 import com.example.storeapplication.enums.Category;
 import com.example.storeapplication.service.CustomerService;
-import jakarta.servlet.http.HttpSession;
+import com.example.storeapplication.session.BasketIdResolver;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 
@@ -20,6 +22,8 @@ public class CustomerController {
 
     private final CustomerService customerService;
 
+    private final BasketIdResolver basketIdResolver;
+
     @GetMapping("/products")
     public ResponseEntity<PageResponse<ProductResponse>> getProducts(
             @RequestParam(required = false) Category category,
@@ -40,9 +44,10 @@ public class CustomerController {
     @PostMapping("/basket/add")
     public ResponseEntity<String> addToBasket(
             @Valid @RequestBody BasketItemRequest request,
-            HttpSession session) {
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
 
-        String sessionId = session.getId();
+        String sessionId = basketIdResolver.resolve(httpRequest, httpResponse);
         String result = customerService.addToBasket(sessionId, request);
         return ResponseEntity.ok(result);
     }
@@ -50,16 +55,20 @@ public class CustomerController {
     @PostMapping("/basket/remove")
     public ResponseEntity<String> removeFromBasket(
             @Valid @RequestBody BasketItemRequest request,
-            HttpSession session) {
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
 
-        String sessionId = session.getId();
+        String sessionId = basketIdResolver.resolve(httpRequest, httpResponse);
         String result = customerService.removeFromBasket(sessionId, request);
         return ResponseEntity.ok(result);
     }
 
     @GetMapping("/basket/receipt")
-    public ResponseEntity<ReceiptResponse> getReceipt(HttpSession session) {
-        String sessionId = session.getId();
+    public ResponseEntity<ReceiptResponse> getReceipt(
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+
+        String sessionId = basketIdResolver.resolve(httpRequest, httpResponse);
         ReceiptResponse receipt = customerService.calculateReceipt(sessionId);
         return ResponseEntity.ok(receipt);
     }
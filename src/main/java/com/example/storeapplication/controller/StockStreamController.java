@@ -0,0 +1,34 @@
+package com.example.storeapplication.controller;
+
+import com.example.storeapplication.service.CustomerService;
+import com.example.storeapplication.stream.StockStreamHub;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Pushes stock level changes for the requested products as server-sent
+ * events named {@code stock}, each carrying a JSON array of
+ * {@code {productId, stock, delta}}. The first event holds the current levels.
+ */
+@RestController
+@RequestMapping("/customer/products")
+@AllArgsConstructor
+public class StockStreamController {
+
+    private final StockStreamHub stockStreamHub;
+
+    private final CustomerService customerService;
+
+    @GetMapping(path = "/stock-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStock(@RequestParam List<Long> productIds) {
+        return stockStreamHub.subscribe(new LinkedHashSet<>(productIds), customerService::getStockLevels);
+    }
+}
@@ -5,8 +5,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Entity
 @Table(name = "baskets")
@@ -19,13 +19,14 @@ import java.util.concurrent.ConcurrentMap;
 @EqualsAndHashCode
 public class Basket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "basket_seq")
+    @SequenceGenerator(name = "basket_seq", sequenceName = "baskets_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "session_id", nullable = false)
     private String sessionId;
 
-    @OneToMany(mappedBy = "basket", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "basket", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     @ToString.Exclude
     private List<BasketItem> items = new ArrayList<>();
@@ -36,11 +37,11 @@ public class Basket {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    // Thread-safe operations using concurrent map
+    // ReentrantLock rather than synchronized so a virtual thread never pins its carrier
     @Transient
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    private final ConcurrentMap<Long, BasketItem> itemsMap = new ConcurrentHashMap<>();
+    private final transient ReentrantLock lock = new ReentrantLock();
 
     @PrePersist
     protected void onCreate() {
@@ -59,29 +60,46 @@ public class Basket {
     }
 
     // Thread-safe basket operations
-    public synchronized void addItem(Product product, int quantity) {
-        BasketItem existingItem = itemsMap.get(product.getId());
-        if (existingItem != null) {
-            existingItem.setQuantity(existingItem.getQuantity() + quantity);
-        } else {
-            BasketItem newItem = new BasketItem(this, product, quantity);
-            items.add(newItem);
-            itemsMap.put(product.getId(), newItem);
+    public void addItem(Product product, int quantity) {
+        lock.lock();
+        try {
+            BasketItem existingItem = findItem(product.getId());
+            if (existingItem != null) {
+                existingItem.setQuantity(existingItem.getQuantity() + quantity);
+            } else {
+                items.add(new BasketItem(this, product, quantity));
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized boolean removeItem(Long productId, int quantity) {
-        BasketItem item = itemsMap.get(productId);
-        if (item != null) {
-            if (item.getQuantity() <= quantity) {
-                items.remove(item);
-                itemsMap.remove(productId);
-                return true;
-            } else {
-                item.setQuantity(item.getQuantity() - quantity);
-                return true;
+    public boolean removeItem(Long productId, int quantity) {
+        lock.lock();
+        try {
+            BasketItem item = findItem(productId);
+            if (item != null) {
+                if (item.getQuantity() <= quantity) {
+                    items.remove(item);
+                    return true;
+                } else {
+                    item.setQuantity(item.getQuantity() - quantity);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Looked up from the mapped collection so it also works on a basket loaded from the database
+    private BasketItem findItem(Long productId) {
+        for (BasketItem item : items) {
+            if (Objects.equals(item.getProduct().getId(), productId)) {
+                return item;
             }
         }
-        return false;
+        return null;
     }
 }
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 @EqualsAndHashCode
 public class BasketItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "basket_item_seq")
+    @SequenceGenerator(name = "basket_item_seq", sequenceName = "basket_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
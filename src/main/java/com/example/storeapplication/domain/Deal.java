@@ -6,7 +6,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "deals")
+@Table(name = "deals", indexes = {
+        @Index(name = "idx_deals_product_active_expiration", columnList = "product_id, active, expiration_date"),
+        @Index(name = "idx_deals_active_expiration", columnList = "active, expiration_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,8 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 public class Deal {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deal_seq")
+    @SequenceGenerator(name = "deal_seq", sequenceName = "deals_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,6 +43,9 @@ public class Deal {
     @Column(name = "get_quantity")
     private Integer getQuantity;
 
+    @Column(name = "activation_date")
+    private LocalDateTime activationDate;
+
     @Column(name = "expiration_date")
     private LocalDateTime expirationDate;
 
@@ -0,0 +1,60 @@
+package com.example.storeapplication.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a {@link Deal} that is no longer live. Rows keep the id they had
+ * in {@code deals} and carry the product name so that archive queries never
+ * need to join back to the catalog.
+ */
+@Entity
+@Table(name = "deals_archive", indexes = {
+        @Index(name = "idx_deals_archive_product_archived", columnList = "product_id, archived_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode
+public class DealArchive {
+    @Id
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_name")
+    private String productName;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "buy_quantity", nullable = false)
+    private int buyQuantity;
+
+    @Column(name = "discount_percentage", precision = 5, scale = 2)
+    private BigDecimal discountPercentage;
+
+    @Column(name = "discount_amount", precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+
+    @Column(name = "get_quantity")
+    private Integer getQuantity;
+
+    @Column(name = "activation_date")
+    private LocalDateTime activationDate;
+
+    @Column(name = "expiration_date")
+    private LocalDateTime expirationDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -5,9 +5,15 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.event.StockChangedEvent;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
 
 @Entity
@@ -21,7 +27,8 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 @EqualsAndHashCode
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -51,6 +58,13 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Published by Spring Data when the product is saved through its repository
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    private final transient List<StockChangedEvent> stockEvents = new ArrayList<>();
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -74,6 +88,7 @@ public class Product {
     public boolean decrementStock(int quantity) {
         if (stock >= quantity) {
             stock -= quantity;
+            stockEvents.add(new StockChangedEvent(id, stock, -quantity));
             return true;
         }
         return false;
@@ -81,6 +96,17 @@ public class Product {
 
     public void incrementStock(int quantity) {
         stock += quantity;
+        stockEvents.add(new StockChangedEvent(id, stock, quantity));
+    }
+
+    @DomainEvents
+    Collection<StockChangedEvent> stockEvents() {
+        return List.copyOf(stockEvents);
+    }
+
+    @AfterDomainEventPublication
+    void clearStockEvents() {
+        stockEvents.clear();
     }
 }
 
@@ -0,0 +1,19 @@
+package com.example.storeapplication.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * Keyset-paginated page: {@code nextCursor} is passed back as the cursor of
+ * the following request and is {@code null} on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private Long nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,24 @@
+package com.example.storeapplication.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealArchiveResponse {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private String description;
+    private int buyQuantity;
+    private BigDecimal discountPercentage;
+    private BigDecimal discountAmount;
+    private Integer getQuantity;
+    private LocalDateTime activationDate;
+    private LocalDateTime expirationDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.storeapplication.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealBulkCreateRequest {
+    @NotEmpty(message = "At least one deal is required")
+    private List<@Valid DealCreateRequest> deals;
+}
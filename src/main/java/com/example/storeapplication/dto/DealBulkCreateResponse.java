@@ -0,0 +1,15 @@
+package com.example.storeapplication.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealBulkCreateResponse {
+    private int created;
+    private int scheduled;
+    private List<Long> dealIds;
+}
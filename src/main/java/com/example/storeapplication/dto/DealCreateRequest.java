@@ -1,5 +1,6 @@
 package com.example.storeapplication.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import java.math.BigDecimal;
@@ -29,5 +30,13 @@ public class DealCreateRequest {
     @Min(value = 1, message = "Get quantity must be at least 1")
     private Integer getQuantity;
 
+    private LocalDateTime activationDate;
+
     private LocalDateTime expirationDate;
-}
\ No newline at end of file
+
+    @JsonIgnore
+    @AssertTrue(message = "Activation date must be before expiration date")
+    public boolean isActivationBeforeExpiration() {
+        return activationDate == null || expirationDate == null || activationDate.isBefore(expirationDate);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.storeapplication.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBulkUpdateRequest {
+    @NotEmpty(message = "At least one adjustment is required")
+    private List<@Valid ProductAdjustment> adjustments;
+
+    private boolean repriceBaskets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ProductAdjustment {
+        @NotNull(message = "Product ID is required")
+        private Long productId;
+
+        private BigDecimal priceDelta;
+
+        private Integer stockDelta;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.storeapplication.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBulkUpdateResponse {
+    private int requested;
+    private int updated;
+    private int skipped;
+    private int repricedBasketItems;
+    private int chunks;
+}
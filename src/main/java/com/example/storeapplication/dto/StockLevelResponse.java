@@ -0,0 +1,13 @@
+package com.example.storeapplication.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevelResponse {
+    private Long productId;
+    private int stock;
+    private int delta;
+}
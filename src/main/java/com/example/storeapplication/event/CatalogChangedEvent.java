@@ -0,0 +1,19 @@
+package com.example.storeapplication.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Published after a committed change to the catalog so that listeners holding
+ * derived product data can drop it. Bulk operations publish one event per
+ * chunk rather than one per product.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CatalogChangedEvent {
+    private final Collection<Long> productIds;
+}
@@ -0,0 +1,19 @@
+package com.example.storeapplication.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Raised by {@code Product} when a basket reserves or returns stock, and
+ * published when the product is saved. {@code stock} is the level after the
+ * change and {@code delta} the signed amount it moved by.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StockChangedEvent {
+    private final Long productId;
+    private final int stock;
+    private final int delta;
+}
@@ -0,0 +1,7 @@
+package com.example.storeapplication.exception;
+
+public class InvalidStreamRequestException extends RuntimeException {
+    public InvalidStreamRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.storeapplication.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("store.BasketOperation")
+@Label("Basket Operation")
+@StackTrace(false)
+public class BasketOperationEvent extends StoreOperationEvent {
+
+    @Label("Operation")
+    private final String operation;
+
+    @Label("Quantity")
+    private final int quantity;
+
+    public BasketOperationEvent(String operation, String sessionId, Long productId, int quantity) {
+        this.operation = operation;
+        this.sessionHash = hash(sessionId);
+        this.productId = productId == null ? 0 : productId;
+        this.quantity = quantity;
+    }
+}
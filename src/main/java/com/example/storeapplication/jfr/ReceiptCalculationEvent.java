@@ -0,0 +1,23 @@
+package com.example.storeapplication.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("store.ReceiptCalculation")
+@Label("Receipt Calculation")
+@StackTrace(false)
+public class ReceiptCalculationEvent extends StoreOperationEvent {
+
+    @Label("Deals Evaluated")
+    private int dealsEvaluated;
+
+    public ReceiptCalculationEvent(String sessionId, int itemCount) {
+        this.sessionHash = hash(sessionId);
+        this.itemCount = itemCount;
+    }
+
+    public void setDealsEvaluated(int dealsEvaluated) {
+        this.dealsEvaluated = dealsEvaluated;
+    }
+}
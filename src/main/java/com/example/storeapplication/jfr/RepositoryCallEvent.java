@@ -0,0 +1,29 @@
+package com.example.storeapplication.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One Spring Data repository call, including the SQL it ran. Session and
+ * product come from the enclosing basket or receipt operation, if any.
+ */
+@Name("store.RepositoryCall")
+@Label("Repository Call")
+public class RepositoryCallEvent extends StoreOperationEvent {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    public void describe(String repository, String method) {
+        this.repository = repository;
+        this.method = method;
+        StoreOperationEvent enclosing = current();
+        if (enclosing != null) {
+            this.sessionHash = enclosing.sessionHash;
+            this.productId = enclosing.productId;
+        }
+    }
+}
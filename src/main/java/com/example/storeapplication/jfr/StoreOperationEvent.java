@@ -0,0 +1,83 @@
+package com.example.storeapplication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Common fields of the store's Flight Recorder events. While a recording has
+ * the event enabled, a started operation is the thread's current operation
+ * so repository calls made inside it inherit its basket and product.
+ * <p>
+ * With no recording running {@link #isEnabled()} is false and start and
+ * finish only read a constant; the JIT can then drop the allocation.
+ */
+@Category("Store")
+public abstract class StoreOperationEvent extends Event {
+
+    private static final ThreadLocal<StoreOperationEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Session Hash")
+    @Description("hashCode of the basket id; the id itself is a credential and is not recorded")
+    protected int sessionHash;
+
+    @Label("Product Id")
+    protected long productId;
+
+    @Label("Item Count")
+    @Description("Basket lines, or rows returned for repository calls")
+    protected int itemCount;
+
+    @Label("Outcome")
+    protected String outcome;
+
+    private transient StoreOperationEvent parent;
+
+    private transient boolean started;
+
+    static StoreOperationEvent current() {
+        return CURRENT.get();
+    }
+
+    protected static int hash(String sessionId) {
+        return sessionId == null ? 0 : sessionId.hashCode();
+    }
+
+    /**
+     * Starts timing and makes this the thread's current operation.
+     */
+    public void start() {
+        if (isEnabled()) {
+            started = true;
+            parent = CURRENT.get();
+            CURRENT.set(this);
+            begin();
+        }
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Commits the event if it passes the recording's threshold and restores
+     * the previous current operation.
+     */
+    public void finish(String outcome) {
+        if (!started) {
+            return;
+        }
+        started = false;
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.storeapplication.lock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ReentrantLock} that records how long callers waited for it and held
+ * it, who holds it right now and the longest holds seen, each with the
+ * context the caller passed to {@link #lock(Object)}.
+ * <p>
+ * The uncontended cost is three {@code nanoTime} reads, one small allocation
+ * and two timer updates, about half a microsecond (see
+ * {@code InstrumentedLockBenchmark}) against holds that include database
+ * round trips. The longest-hold list is only touched when a hold beats the
+ * shortest one already in it, so it stays off the fast path.
+ * Meters are {@code <prefix>.wait}, {@code <prefix>.hold} (timers with
+ * percentile histograms), {@code <prefix>.queue} and {@code <prefix>.held}.
+ */
+public class InstrumentedLock {
+
+    static final int LONGEST_HOLDS = 10;
+
+    private final String name;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Timer waitTimer;
+
+    private final Timer holdTimer;
+
+    private final LongSupplier nanoClock;
+
+    private final Clock clock;
+
+    private final ReentrantLock longestHoldsLock = new ReentrantLock();
+
+    private final List<Hold> longestHolds = new ArrayList<>(LONGEST_HOLDS + 1);
+
+    // Shortest hold in a full longestHolds list; holds at or below it are not recorded
+    private volatile long longestHoldsFloor;
+
+    private volatile Holder holder;
+
+    public InstrumentedLock(String name, String metricPrefix, MeterRegistry meterRegistry) {
+        this(name, metricPrefix, meterRegistry, System::nanoTime, Clock.systemUTC());
+    }
+
+    InstrumentedLock(String name, String metricPrefix, MeterRegistry meterRegistry, LongSupplier nanoClock, Clock clock) {
+        this.name = name;
+        this.nanoClock = nanoClock;
+        this.clock = clock;
+        this.waitTimer = Timer.builder(metricPrefix + ".wait")
+                .description("Time spent waiting for the " + name + " lock")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.holdTimer = Timer.builder(metricPrefix + ".hold")
+                .description("Time the " + name + " lock was held")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".queue", lock, ReentrantLock::getQueueLength)
+                .description("Threads waiting for the " + name + " lock")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".held", this, InstrumentedLock::currentHoldSeconds)
+                .description("How long the current holder has had the " + name + " lock")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param context describes the caller, e.g. the basket and product; only
+     *                turned into a string when a snapshot is taken
+     */
+    public void lock(Object context) {
+        long start = nanoClock.getAsLong();
+        lock.lock();
+        if (lock.getHoldCount() == 1) {
+            long acquiredAt = nanoClock.getAsLong();
+            waitTimer.record(acquiredAt - start, TimeUnit.NANOSECONDS);
+            holder = new Holder(Thread.currentThread().getName(), context, acquiredAt);
+        }
+    }
+
+    public void unlock() {
+        Holder released = lock.getHoldCount() == 1 ? holder : null;
+        long releasedAt = nanoClock.getAsLong();
+        if (released != null) {
+            holder = null;
+        }
+        lock.unlock();
+        if (released != null) {
+            long heldNanos = releasedAt - released.acquiredAt;
+            holdTimer.record(heldNanos, TimeUnit.NANOSECONDS);
+            if (heldNanos > longestHoldsFloor) {
+                recordLongHold(released, heldNanos);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LockSnapshot snapshot() {
+        Holder current = holder;
+        LockSnapshot.Holder currentHolder = current == null ? null : new LockSnapshot.Holder(
+                current.thread, String.valueOf(current.context), millis(nanoClock.getAsLong() - current.acquiredAt));
+
+        List<LockSnapshot.Hold> holds = new ArrayList<>();
+        longestHoldsLock.lock();
+        try {
+            for (Hold hold : longestHolds) {
+                holds.add(new LockSnapshot.Hold(hold.thread, hold.context, millis(hold.heldNanos), hold.releasedAt));
+            }
+        } finally {
+            longestHoldsLock.unlock();
+        }
+
+        return new LockSnapshot(name, lock.isLocked(), lock.getQueueLength(), currentHolder,
+                timings(waitTimer), timings(holdTimer), holds);
+    }
+
+    /**
+     * Forgets the longest holds, e.g. after an incident has been looked at.
+     */
+    public void resetLongestHolds() {
+        longestHoldsLock.lock();
+        try {
+            longestHolds.clear();
+            longestHoldsFloor = 0;
+        } finally {
+            longestHoldsLock.unlock();
+        }
+    }
+
+    private void recordLongHold(Holder released, long heldNanos) {
+        longestHoldsLock.lock();
+        try {
+            if (heldNanos <= longestHoldsFloor) {
+                return;
+            }
+            longestHolds.add(new Hold(released.thread, String.valueOf(released.context), heldNanos, clock.instant()));
+            longestHolds.sort(Comparator.comparingLong((Hold hold) -> hold.heldNanos).reversed());
+            if (longestHolds.size() > LONGEST_HOLDS) {
+                longestHolds.remove(LONGEST_HOLDS);
+            }
+            if (longestHolds.size() == LONGEST_HOLDS) {
+                longestHoldsFloor = longestHolds.get(LONGEST_HOLDS - 1).heldNanos;
+            }
+        } finally {
+            longestHoldsLock.unlock();
+        }
+    }
+
+    private double currentHoldSeconds() {
+        Holder current = holder;
+        return current == null ? 0 : (nanoClock.getAsLong() - current.acquiredAt) / 1e9;
+    }
+
+    private static LockSnapshot.Timings timings(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        return new LockSnapshot.Timings(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS), percentile(snapshot, 0.5), percentile(snapshot, 0.95),
+                percentile(snapshot, 0.99));
+    }
+
+    /**
+     * Upper bound of the cumulative histogram bucket holding the given
+     * percentile, so the figure over-estimates by at most one bucket width.
+     */
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        if (snapshot.count() == 0) {
+            return 0;
+        }
+        double rank = snapshot.count() * percentile;
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            if (bucket.count() >= rank) {
+                return bucket.bucket(TimeUnit.MILLISECONDS);
+            }
+        }
+        return snapshot.max(TimeUnit.MILLISECONDS);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private record Holder(String thread, Object context, long acquiredAt) {
+    }
+
+    private record Hold(String thread, String context, long heldNanos, Instant releasedAt) {
+    }
+}
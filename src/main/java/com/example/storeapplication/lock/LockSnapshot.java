@@ -0,0 +1,23 @@
+package com.example.storeapplication.lock;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Point-in-time view of an {@link InstrumentedLock}, as served by the
+ * {@code stocklocks} actuator endpoint. Durations are in milliseconds; the
+ * wait and hold figures are read from the Micrometer timers, and percentiles
+ * are histogram bucket bounds.
+ */
+public record LockSnapshot(String name, boolean locked, int queueLength, Holder currentHolder,
+                           Timings waitMs, Timings holdMs, List<Hold> longestHolds) {
+
+    public record Holder(String thread, String context, double heldMs) {
+    }
+
+    public record Hold(String thread, String context, double heldMs, Instant releasedAt) {
+    }
+
+    public record Timings(long count, double mean, double max, double p50, double p95, double p99) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.storeapplication.lock;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/stocklocks}: current holder, queue length, wait and hold
+ * percentiles and the longest holds of every {@link InstrumentedLock} bean.
+ * {@code DELETE /actuator/stocklocks/{name}} clears a lock's longest holds.
+ */
+@Component
+@Endpoint(id = "stocklocks")
+@AllArgsConstructor
+public class StockLocksEndpoint {
+
+    private final List<InstrumentedLock> locks;
+
+    @ReadOperation
+    public Map<String, LockSnapshot> locks() {
+        Map<String, LockSnapshot> snapshots = new LinkedHashMap<>();
+        for (InstrumentedLock lock : locks) {
+            snapshots.put(lock.getName(), lock.snapshot());
+        }
+        return snapshots;
+    }
+
+    @ReadOperation
+    public LockSnapshot lock(@Selector String name) {
+        InstrumentedLock lock = find(name);
+        return lock == null ? null : lock.snapshot();
+    }
+
+    @DeleteOperation
+    public void resetLongestHolds(@Selector String name) {
+        InstrumentedLock lock = find(name);
+        if (lock != null) {
+            lock.resetLongestHolds();
+        }
+    }
+
+    private InstrumentedLock find(String name) {
+        return locks.stream().filter(lock -> lock.getName().equals(name)).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.storeapplication.ratelimit;
+
+import com.example.storeapplication.config.RateLimitProperties;
+import com.example.storeapplication.exception.RateLimitExceededException;
+import com.example.storeapplication.exception.ServiceOverloadedException;
+import com.example.storeapplication.session.BasketIdResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Guards the basket endpoints. A request is first shed with 503 if too many
+ * basket requests are already in progress, since they all queue on the stock
+ * lock; it is then rejected with 429 once its client, identified by a basket
+ * id the resolver has verified or, failing that, by remote address, has used
+ * up its token bucket. Behind a proxy the remote address is the client's as
+ * long as {@code server.forward-headers-strategy} is {@code native} and the
+ * proxy is one of Tomcat's trusted internal proxies; otherwise every new
+ * shopper would share the proxy's bucket.
+ * Outcomes are counted in {@code store.ratelimit.requests}.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String IN_FLIGHT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".inFlight";
+
+    private final RateLimitProperties properties;
+
+    private final BasketIdResolver basketIdResolver;
+
+    private final TokenBucketRateLimiter limiter;
+
+    private final Semaphore inFlight;
+
+    private final Counter admitted;
+
+    private final Counter rejected;
+
+    private final Counter shed;
+
+    public RateLimitInterceptor(RateLimitProperties properties, BasketIdResolver basketIdResolver,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.basketIdResolver = basketIdResolver;
+        this.limiter = new TokenBucketRateLimiter(properties.getCapacity(), properties.getRefillPerSecond(),
+                properties.getMaxKeys(), System::currentTimeMillis);
+        this.inFlight = properties.getMaxInFlight() > 0 ? new Semaphore(properties.getMaxInFlight()) : null;
+        this.admitted = counter(meterRegistry, "admitted");
+        this.rejected = counter(meterRegistry, "rejected");
+        this.shed = counter(meterRegistry, "shed");
+        Gauge.builder("store.ratelimit.keys", limiter, TokenBucketRateLimiter::size)
+                .description("Clients with a tracked token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        if (inFlight != null) {
+            if (!inFlight.tryAcquire()) {
+                shed.increment();
+                throw new ServiceOverloadedException("Too many basket requests in progress, please retry", 1);
+            }
+            request.setAttribute(IN_FLIGHT_ATTRIBUTE, Boolean.TRUE);
+        }
+
+        String key = basketIdResolver.peek(request)
+                .map(id -> "basket:" + id)
+                .orElseGet(() -> "ip:" + request.getRemoteAddr());
+        long waitMillis = limiter.tryAcquire(key);
+        if (waitMillis == 0) {
+            admitted.increment();
+            return true;
+        }
+
+        release(request);
+        if (waitMillis == TokenBucketRateLimiter.SHED) {
+            shed.increment();
+            throw new ServiceOverloadedException("Too many active clients, please retry", 1);
+        }
+        rejected.increment();
+        throw new RateLimitExceededException("Rate limit exceeded, retry in " + waitMillis + " ms",
+                Math.max(1, (waitMillis + 999) / 1000));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    public void evictIdleBuckets() {
+        limiter.evictIdle();
+    }
+
+    private void release(HttpServletRequest request) {
+        if (inFlight != null && request.getAttribute(IN_FLIGHT_ATTRIBUTE) != null) {
+            request.removeAttribute(IN_FLIGHT_ATTRIBUTE);
+            inFlight.release();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("store.ratelimit.requests")
+                .description("Basket requests by rate limiter outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.storeapplication.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by client, held in a bounded concurrent map.
+ * <p>
+ * Each bucket is one {@code AtomicLong} packing the time of its last refill
+ * (upper 40 bits, milliseconds since the limiter started) and its level in
+ * thousandths of a token (lower 24 bits), updated by CAS. Keys are folded to
+ * a 64-bit hash, so an entry costs a boxed {@code Long} key (16 bytes), the
+ * {@code AtomicLong} (16 bytes), a map node (32 bytes) and its table slot,
+ * about 75 bytes regardless of how long the client id is.
+ * <p>
+ * A bucket that has been idle long enough to refill completely is
+ * indistinguishable from a new one, so {@link #evictIdle()} drops it.
+ */
+public class TokenBucketRateLimiter {
+
+    /**
+     * Returned by {@link #tryAcquire(String)} when the key table is full.
+     */
+    public static final long SHED = -1;
+
+    private static final long MILLI_TOKENS = 1000;
+
+    private static final int LEVEL_BITS = 24;
+
+    private static final long LEVEL_MASK = (1L << LEVEL_BITS) - 1;
+
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final long capacity;
+
+    private final long refillPerMilli;
+
+    private final long fullRefillMillis;
+
+    private final int maxKeys;
+
+    private final LongSupplier clock;
+
+    private final long epoch;
+
+    /**
+     * @param capacity        bucket size in tokens
+     * @param refillPerSecond tokens added per second
+     * @param maxKeys         maximum number of buckets
+     * @param clock           current time in milliseconds
+     */
+    public TokenBucketRateLimiter(int capacity, int refillPerSecond, int maxKeys, LongSupplier clock) {
+        if (capacity < 1 || capacity * MILLI_TOKENS > LEVEL_MASK || refillPerSecond < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Capacity must be 1-16777, refill rate and key limit positive");
+        }
+        this.capacity = capacity * MILLI_TOKENS;
+        // thousandths of a token per millisecond equals tokens per second
+        this.refillPerMilli = refillPerSecond;
+        this.fullRefillMillis = (this.capacity + refillPerMilli - 1) / refillPerMilli;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.epoch = clock.getAsLong();
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}.
+     *
+     * @param key
+     * @return 0 if admitted, the milliseconds until a token is available if
+     * not, or {@link #SHED} if the key is new and the table is full
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong() - epoch;
+        Long hash = hash(key);
+
+        AtomicLong bucket = buckets.get(hash);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                return SHED;
+            }
+            bucket = buckets.putIfAbsent(hash, new AtomicLong(pack(now, capacity - MILLI_TOKENS)));
+            if (bucket == null) {
+                return 0;
+            }
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long last = state >>> LEVEL_BITS;
+            long elapsed = Math.min(Math.max(now - last, 0), fullRefillMillis);
+            long level = Math.min(capacity, (state & LEVEL_MASK) + elapsed * refillPerMilli);
+            if (level < MILLI_TOKENS) {
+                return (MILLI_TOKENS - level + refillPerMilli - 1) / refillPerMilli;
+            }
+            if (bucket.compareAndSet(state, pack(Math.max(now, last), level - MILLI_TOKENS))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have refilled completely.
+     *
+     * @return number of buckets removed
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong() - epoch;
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> now - (bucket.get() >>> LEVEL_BITS) >= fullRefillMillis);
+        return Math.max(before - buckets.size(), 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private static long pack(long time, long level) {
+        return (time << LEVEL_BITS) | level;
+    }
+
+    // FNV-1a
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
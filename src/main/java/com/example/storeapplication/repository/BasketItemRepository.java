@@ -0,0 +1,19 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.BasketItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface BasketItemRepository extends JpaRepository<BasketItem, Long> {
+    @Modifying
+    @Query("update BasketItem bi set bi.unitPrice = " +
+            "(select p.price from Product p where p.id = bi.product.id) " +
+            "where bi.product.id in :productIds")
+    int repriceForProducts(@Param("productIds") Collection<Long> productIds);
+}
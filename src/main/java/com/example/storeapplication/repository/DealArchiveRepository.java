@@ -0,0 +1,12 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.DealArchive;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DealArchiveRepository extends JpaRepository<DealArchive, Long> {
+    Page<DealArchive> findByProductId(Long productId, Pageable pageable);
+}
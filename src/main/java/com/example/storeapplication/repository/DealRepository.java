@@ -1,14 +1,18 @@
 package com.example.storeapplication.repository;
 
 import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.dto.DealResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,4 +24,65 @@ public interface DealRepository extends JpaRepository<Deal, Long> {
     @Query("SELECT d FROM Deal d WHERE d.product.id = :productId AND d.active = true AND " +
             "(d.expirationDate IS NULL OR d.expirationDate > :now)")
     List<Deal> findActiveDealsForProduct(@Param("productId") Long productId, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT new com.example.storeapplication.dto.DealResponse(d.id, p.id, p.name, d.description, " +
+            "d.buyQuantity, d.discountPercentage, d.discountAmount, d.getQuantity, d.activationDate, " +
+            "d.expirationDate, d.active, d.createdAt) FROM Deal d JOIN d.product p WHERE d.active = true AND " +
+            "(d.expirationDate IS NULL OR d.expirationDate > :now)",
+            countQuery = "SELECT count(d) FROM Deal d WHERE d.active = true AND " +
+                    "(d.expirationDate IS NULL OR d.expirationDate > :now)")
+    Page<DealResponse> findActiveDealResponses(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT new com.example.storeapplication.dto.DealResponse(d.id, p.id, p.name, d.description, " +
+            "d.buyQuantity, d.discountPercentage, d.discountAmount, d.getQuantity, d.activationDate, " +
+            "d.expirationDate, d.active, d.createdAt) FROM Deal d JOIN d.product p WHERE d.active = true AND " +
+            "(d.expirationDate IS NULL OR d.expirationDate > :now) AND d.id < :beforeId ORDER BY d.id DESC")
+    List<DealResponse> findActiveDealResponsesBefore(@Param("now") LocalDateTime now,
+                                                     @Param("beforeId") Long beforeId,
+                                                     Limit limit);
+
+    @Query("SELECT d.id AS id, d.active AS active, d.activationDate AS activationDate, " +
+            "d.expirationDate AS expirationDate FROM Deal d " +
+            "WHERE (d.expirationDate IS NULL OR d.expirationDate > :now) AND " +
+            "((d.active = false AND d.activationDate IS NOT NULL) OR " +
+            "(d.active = true AND d.expirationDate IS NOT NULL))")
+    List<ScheduledDeal> findScheduledDeals(@Param("now") LocalDateTime now);
+
+    @Query("SELECT d.id FROM Deal d WHERE d.active = true AND d.expirationDate <= :now")
+    List<Long> findExpiredActiveDealIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT d.id FROM Deal d WHERE (d.active = false AND d.activationDate IS NULL) " +
+            "OR d.expirationDate <= :now")
+    List<Long> findArchivableDealIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO deals_archive (id, product_id, product_name, description, " +
+            "buy_quantity, discount_percentage, discount_amount, get_quantity, activation_date, expiration_date, " +
+            "created_at, archived_at) " +
+            "SELECT d.id, d.product_id, p.name, d.description, d.buy_quantity, d.discount_percentage, " +
+            "d.discount_amount, d.get_quantity, d.activation_date, d.expiration_date, d.created_at, :archivedAt " +
+            "FROM deals d JOIN products p ON p.id = d.product_id WHERE d.id IN (:ids)")
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("DELETE FROM Deal d WHERE d.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Deal d SET d.active = true WHERE d.id IN :ids AND d.activationDate IS NOT NULL")
+    int activateDeals(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Deal d SET d.active = false WHERE d.id IN :ids")
+    int deactivateDeals(@Param("ids") Collection<Long> ids);
+
+    interface ScheduledDeal {
+        Long getId();
+
+        Boolean getActive();
+
+        LocalDateTime getActivationDate();
+
+        LocalDateTime getExpirationDate();
+    }
 }
@@ -5,11 +5,14 @@ import com.example.storeapplication.enums.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 
 @Repository
@@ -26,4 +29,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("select p from Product p where p.available = :available and p.stock > 0")
     Page<Product> findAvailableProducts(Pageable pageable);
+
+    @Modifying
+    @Query("update Product p set p.price = p.price + :priceDelta, p.stock = p.stock + :stockDelta, " +
+            "p.updatedAt = :now where p.id in :ids and p.price + :priceDelta > 0 and p.stock + :stockDelta >= 0")
+    int adjustPriceAndStock(@Param("ids") Collection<Long> ids,
+                            @Param("priceDelta") BigDecimal priceDelta,
+                            @Param("stockDelta") int stockDelta,
+                            @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,57 @@
+package com.example.storeapplication.scheduler;
+
+import com.example.storeapplication.repository.DealRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves removed and expired deals from {@code deals} to {@code deals_archive}
+ * so the hot table only holds live and scheduled promotions. Each chunk is
+ * copied and deleted in one transaction; deals still waiting for their
+ * activation date are never archived.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class DealArchiver {
+
+    static final int CHUNK_SIZE = 500;
+
+    static final int MAX_CHUNKS_PER_RUN = 100;
+
+    private final DealRepository dealRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelay = 300_000, fixedDelay = 3_600_000)
+    public int archive() {
+        LocalDateTime now = LocalDateTime.now();
+        int archived = 0;
+        for (int chunk = 0; chunk < MAX_CHUNKS_PER_RUN; chunk++) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = dealRepository.findArchivableDealIds(now, PageRequest.of(0, CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                dealRepository.copyToArchive(ids, now);
+                return dealRepository.deleteAllByIdIn(ids);
+            });
+            archived += moved;
+            if (moved < CHUNK_SIZE) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} inactive deals", archived);
+        }
+        return archived;
+    }
+}
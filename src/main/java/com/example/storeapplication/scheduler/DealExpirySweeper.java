@@ -0,0 +1,55 @@
+package com.example.storeapplication.scheduler;
+
+import com.example.storeapplication.repository.DealRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background pass that flips expired deals to {@code active = false} so the
+ * active-deal indexes only contain live rows. {@link DealLifecycleScheduler}
+ * handles deals it knows about at their exact boundary; this sweeper catches
+ * everything else (deals expired while the application was down, rows written
+ * outside the API). Work is done in bounded batches, one transaction each,
+ * with a cap per run so a large backlog never holds locks for long.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class DealExpirySweeper {
+
+    static final int BATCH_SIZE = 500;
+
+    static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final DealRepository dealRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+    public int sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int swept = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            Integer deactivated = transactionTemplate.execute(status -> {
+                List<Long> ids = dealRepository.findExpiredActiveDealIds(now, PageRequest.of(0, BATCH_SIZE));
+                return ids.isEmpty() ? 0 : dealRepository.deactivateDeals(ids);
+            });
+            swept += deactivated;
+            if (deactivated < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        if (swept > 0) {
+            log.info("Deactivated {} expired deals", swept);
+        }
+        return swept;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.storeapplication.scheduler;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.repository.DealRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Flips {@link Deal#isActive()} at each deal's activation and expiration
+ * boundary. Pending boundaries live in a {@link TimingWheel}, so the
+ * once-per-second tick only touches the deals that are actually due.
+ * <p>
+ * A deal waiting for activation is stored with {@code active = false} and a
+ * non-null activation date; removing a deal clears the activation date so it
+ * is never picked up again after a restart.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class DealLifecycleScheduler {
+
+    static final long TICK_MILLIS = 1000;
+
+    private static final int WHEEL_SIZE = 512;
+
+    private static final int UPDATE_CHUNK_SIZE = 500;
+
+    private final DealRepository dealRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TimingWheel<Transition> wheel =
+            new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    /**
+     * Registers the pending boundaries of a deal that has been committed.
+     *
+     * @param deal
+     */
+    public void schedule(Deal deal) {
+        schedule(deal.getId(), deal.isActive(), deal.getActivationDate(), deal.getExpirationDate());
+    }
+
+    /**
+     * @param dealId
+     */
+    public void cancel(Long dealId) {
+        wheel.cancel(new Transition(dealId, true));
+        wheel.cancel(new Transition(dealId, false));
+    }
+
+    public int pendingTransitions() {
+        return wheel.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingTransitions() {
+        List<DealRepository.ScheduledDeal> deals = dealRepository.findScheduledDeals(LocalDateTime.now());
+        for (DealRepository.ScheduledDeal deal : deals) {
+            schedule(deal.getId(), Boolean.TRUE.equals(deal.getActive()),
+                    deal.getActivationDate(), deal.getExpirationDate());
+        }
+        log.info("Loaded {} pending deal transitions", wheel.size());
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        List<Transition> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Long> activations = new ArrayList<>();
+        List<Long> expirations = new ArrayList<>();
+        for (Transition transition : due) {
+            (transition.activate() ? activations : expirations).add(transition.dealId());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                forEachChunk(activations, dealRepository::activateDeals);
+                forEachChunk(expirations, dealRepository::deactivateDeals);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} deal transitions, retrying on next tick", due.size(), e);
+            long retryAt = System.currentTimeMillis();
+            due.forEach(transition -> wheel.schedule(transition, retryAt));
+        }
+    }
+
+    private void schedule(Long dealId, boolean active, LocalDateTime activationDate, LocalDateTime expirationDate) {
+        if (!active && activationDate != null) {
+            wheel.schedule(new Transition(dealId, true), toEpochMillis(activationDate));
+        }
+        if (expirationDate != null) {
+            wheel.schedule(new Transition(dealId, false), toEpochMillis(expirationDate));
+        }
+    }
+
+    private static void forEachChunk(List<Long> ids, ToIntFunction<List<Long>> update) {
+        for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+            update.applyAsInt(ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size())));
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    record Transition(Long dealId, boolean activate) {
+    }
+}
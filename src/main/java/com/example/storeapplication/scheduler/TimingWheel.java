@@ -0,0 +1,132 @@
+package com.example.storeapplication.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hashed timing wheel keyed by an arbitrary value. Scheduling and cancelling
+ * are O(1); {@link #advance(long)} visits one bucket per elapsed tick, so the
+ * cost of finding due entries no longer depends on how many are pending.
+ * Scheduling a key again replaces its previous deadline. Guarded by a
+ * {@link ReentrantLock} so callers on virtual threads do not pin their carrier.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+
+    private final List<List<Entry<T>>> buckets;
+
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T key, long deadlineMillis) {
+        lock.lock();
+        try {
+            cancel(key);
+            long deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+            Entry<T> entry = new Entry<>(key, deadlineTick);
+            buckets.get(bucketIndex(deadlineTick)).add(entry);
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean cancel(T key) {
+        lock.lock();
+        try {
+            Entry<T> entry = entries.remove(key);
+            if (entry == null) {
+                return false;
+            }
+            entry.cancelled = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the keys whose
+     * deadline has passed, in tick order.
+     */
+    public List<T> advance(long nowMillis) {
+        lock.lock();
+        try {
+            long targetTick = nowMillis / tickMillis;
+            List<T> due = new ArrayList<>();
+            if (targetTick - currentTick >= buckets.size()) {
+                // Fell behind by a full rotation: one pass over every bucket is enough
+                for (List<Entry<T>> bucket : buckets) {
+                    expire(bucket, targetTick, due);
+                }
+                currentTick = targetTick;
+                return due;
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                expire(buckets.get(bucketIndex(currentTick)), currentTick, due);
+            }
+            return due;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expire(List<Entry<T>> bucket, long upToTick, List<T> due) {
+        Iterator<Entry<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.cancelled) {
+                iterator.remove();
+            } else if (entry.deadlineTick <= upToTick) {
+                iterator.remove();
+                entries.remove(entry.key);
+                due.add(entry.key);
+            }
+        }
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.size());
+    }
+
+    private static final class Entry<T> {
+        private final T key;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Entry(T key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
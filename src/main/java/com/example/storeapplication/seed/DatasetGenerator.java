@@ -0,0 +1,195 @@
+package com.example.storeapplication.seed;
+
+import com.example.storeapplication.enums.Category;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic catalogue, deals and baskets. Every row is derived
+ * from the seed and its own index alone, so the same seed gives the same
+ * dataset however it is batched, and a product's price can be recomputed for
+ * the basket lines that refer to it.
+ * <p>
+ * Deals and basket lines pick products with a Zipf distribution over a
+ * shuffled popularity ranking: a few products get most of the attention but
+ * they are spread across ids and categories rather than being the first rows.
+ */
+public class DatasetGenerator {
+
+    private static final String[] ADJECTIVES = {"Compact", "Pro", "Ultra", "Wireless", "Smart", "Classic", "Portable", "Max"};
+
+    private static final String[] NOUNS = {"Laptop", "Phone", "Headphones", "Speaker", "Console", "Monitor", "Charger", "Keyboard"};
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private static final long PRODUCT_STREAM = 0x5EED_0001L;
+
+    private static final long DEAL_STREAM = 0x5EED_0002L;
+
+    private static final long BASKET_STREAM = 0x5EED_0003L;
+
+    private final long seed;
+
+    private final int products;
+
+    private final double skew;
+
+    private final long stride;
+
+    private final LocalDateTime now;
+
+    public DatasetGenerator(long seed, int products, double popularitySkew, LocalDateTime now) {
+        if (products <= 0) {
+            throw new IllegalArgumentException("products must be positive");
+        }
+        this.seed = seed;
+        this.products = products;
+        this.skew = popularitySkew;
+        this.stride = coprimeStride(products, seed);
+        this.now = now;
+    }
+
+    public enum DealType {
+        PERCENTAGE, FIXED_AMOUNT, BUY_X_GET_Y
+    }
+
+    public record ProductRow(String name, String description, BigDecimal price, Category category, int stock,
+                             boolean available) {
+    }
+
+    public record DealRow(int product, DealType type, String description, int buyQuantity,
+                          BigDecimal discountPercentage, BigDecimal discountAmount, Integer getQuantity,
+                          LocalDateTime activationDate, LocalDateTime expirationDate, boolean active) {
+    }
+
+    public record BasketLine(int product, int quantity, BigDecimal unitPrice) {
+    }
+
+    /**
+     * @param index 0-based; the row's id is chosen by the caller
+     */
+    public ProductRow product(int index) {
+        SplittableRandom random = random(PRODUCT_STREAM, index);
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                + " " + (index + 1);
+        return new ProductRow(name, "Synthetic product " + (index + 1), price(index),
+                CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextInt(0, 500), random.nextInt(50) != 0);
+    }
+
+    public DealRow deal(int index) {
+        SplittableRandom random = random(DEAL_STREAM, index);
+        int product = popularProduct(random);
+        DealType type = DealType.values()[index % DealType.values().length];
+        int buyQuantity;
+        BigDecimal percentage = null;
+        BigDecimal amount = null;
+        Integer getQuantity = null;
+        String description;
+        switch (type) {
+            case PERCENTAGE -> {
+                buyQuantity = random.nextInt(1, 4);
+                percentage = BigDecimal.valueOf(5L * random.nextInt(1, 11));
+                description = "Buy " + buyQuantity + " save " + percentage + "%";
+            }
+            case FIXED_AMOUNT -> {
+                buyQuantity = random.nextInt(1, 4);
+                amount = price(product).multiply(BigDecimal.valueOf(random.nextInt(5, 30)))
+                        .movePointLeft(2).setScale(2, RoundingMode.DOWN).max(new BigDecimal("0.01"));
+                description = "Buy " + buyQuantity + " get " + amount + " off";
+            }
+            default -> {
+                buyQuantity = random.nextInt(2, 4);
+                getQuantity = 1;
+                percentage = BigDecimal.valueOf(100);
+                description = "Buy " + buyQuantity + " get 1 free";
+            }
+        }
+
+        // Mostly live deals, with enough scheduled, expired and withdrawn ones to exercise the lifecycle jobs
+        int lifecycle = random.nextInt(100);
+        LocalDateTime activation = null;
+        LocalDateTime expiration = now.plusDays(random.nextInt(1, 90));
+        boolean active = true;
+        if (lifecycle < 10) {
+            activation = now.plusMinutes(random.nextInt(1, 7 * 24 * 60));
+            active = false;
+        } else if (lifecycle < 25) {
+            expiration = now.minusDays(random.nextInt(1, 365));
+        } else if (lifecycle < 30) {
+            active = false;
+        }
+        return new DealRow(product, type, description, buyQuantity, percentage, amount, getQuantity,
+                activation, expiration, active);
+    }
+
+    /**
+     * Distinct products for one basket, between one and {@code maxItems} lines.
+     */
+    public List<BasketLine> basket(int index, int maxItems) {
+        SplittableRandom random = random(BASKET_STREAM, index);
+        int size = Math.min(random.nextInt(1, maxItems + 1), products);
+        List<BasketLine> lines = new ArrayList<>(size);
+        while (lines.size() < size) {
+            int product = popularProduct(random);
+            if (lines.stream().noneMatch(line -> line.product() == product)) {
+                lines.add(new BasketLine(product, random.nextInt(1, 4), price(product)));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Zipf-distributed popularity rank, by inverting the continuous power-law
+     * CDF over [1, n + 1), mapped to a product index through a fixed
+     * permutation.
+     */
+    int popularProduct(SplittableRandom random) {
+        double u = random.nextDouble();
+        double n = products + 1.0;
+        double rank;
+        if (skew == 0) {
+            rank = 1 + u * products;
+        } else if (Math.abs(skew - 1) < 1e-9) {
+            rank = Math.pow(n, u);
+        } else {
+            double exponent = 1 - skew;
+            rank = Math.pow(1 + u * (Math.pow(n, exponent) - 1), 1 / exponent);
+        }
+        long zeroBased = Math.min(products - 1, (long) rank - 1);
+        return (int) ((zeroBased * stride) % products);
+    }
+
+    private BigDecimal price(int product) {
+        SplittableRandom random = random(PRODUCT_STREAM ^ 0xFFFF, product);
+        // Long-tailed prices: most items are cheap, a few cost thousands
+        double price = Math.exp(random.nextDouble(Math.log(2), Math.log(3_000)));
+        return BigDecimal.valueOf(Math.round(price * 100), 2);
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(mix(seed ^ stream * 0x9E3779B97F4A7C15L) + index * 0xBF58476D1CE4E5B9L);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long coprimeStride(int products, long seed) {
+        long stride = Math.floorMod(mix(seed), products) | 1;
+        while (gcd(stride, products) != 1) {
+            stride += 2;
+        }
+        return stride % products == 0 ? 1 : stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
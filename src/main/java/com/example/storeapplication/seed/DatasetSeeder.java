@@ -0,0 +1,129 @@
+package com.example.storeapplication.seed;
+
+import com.example.storeapplication.config.SeedProperties;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Bulk-loads a {@link DatasetGenerator} dataset on startup, before the
+ * application starts serving, with plain batched JDBC inserts that bypass
+ * JPA. Ids continue after the rows already present and each id sequence is
+ * restarted one allocation block above the last seeded id, so entities saved
+ * afterwards never collide with seeded rows. Basket session ids are derived
+ * from the row id for the same reason.
+ * <pre>
+ * java -jar target/storeapplication-*.jar --spring.profiles.active=seed --store.seed.products=2000000
+ * </pre>
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "store.seed", name = "enabled", havingValue = "true")
+public class DatasetSeeder implements ApplicationRunner {
+
+    // Matches allocationSize on the entities' sequence generators
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SeedProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed(LocalDateTime.now());
+    }
+
+    public void seed(LocalDateTime now) {
+        long started = System.nanoTime();
+        DatasetGenerator generator = new DatasetGenerator(properties.getSeed(), properties.getProducts(),
+                properties.getPopularitySkew(), now);
+        Timestamp createdAt = Timestamp.valueOf(now);
+
+        long productBase = maxId("products");
+        insert("products", "INSERT INTO products (id, name, description, price, category, stock, available, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", IntStream.range(0, properties.getProducts()).mapToObj(index -> {
+            DatasetGenerator.ProductRow product = generator.product(index);
+            return new Object[]{productBase + index + 1, product.name(), product.description(), product.price(),
+                    product.category().name(), product.stock(), product.available(), createdAt};
+        }));
+        restartSequence("products_seq", productBase + properties.getProducts());
+
+        long dealBase = maxId("deals");
+        insert("deals", "INSERT INTO deals (id, product_id, description, buy_quantity, discount_percentage, "
+                + "discount_amount, get_quantity, activation_date, expiration_date, active, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", IntStream.range(0, properties.getDeals()).mapToObj(index -> {
+            DatasetGenerator.DealRow deal = generator.deal(index);
+            return new Object[]{dealBase + index + 1, productBase + deal.product() + 1, deal.description(),
+                    deal.buyQuantity(), deal.discountPercentage(), deal.discountAmount(), deal.getQuantity(),
+                    timestamp(deal.activationDate()), timestamp(deal.expirationDate()), deal.active(), createdAt};
+        }));
+        restartSequence("deals_seq", dealBase + properties.getDeals());
+
+        long basketBase = maxId("baskets");
+        insert("baskets", "INSERT INTO baskets (id, session_id, created_at) VALUES (?, ?, ?)",
+                IntStream.range(0, properties.getBaskets()).mapToObj(index ->
+                        new Object[]{basketBase + index + 1, "seed-basket-" + (basketBase + index + 1), createdAt}));
+        restartSequence("baskets_seq", basketBase + properties.getBaskets());
+
+        long itemBase = maxId("basket_items");
+        long[] itemId = {itemBase};
+        long items = insert("basket_items", "INSERT INTO basket_items (id, basket_id, product_id, quantity, unit_price) "
+                + "VALUES (?, ?, ?, ?, ?)", IntStream.range(0, properties.getBaskets()).boxed().flatMap(basket ->
+                generator.basket(basket, properties.getMaxBasketItems()).stream().map(line ->
+                        new Object[]{++itemId[0], basketBase + basket + 1, productBase + line.product() + 1,
+                                line.quantity(), line.unitPrice()})));
+        restartSequence("basket_items_seq", itemBase + items);
+
+        log.info("Seeded {} products, {} deals, {} baskets with {} lines from seed {} in {} ms",
+                properties.getProducts(), properties.getDeals(), properties.getBaskets(), items, properties.getSeed(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private long insert(String table, String sql, Stream<Object[]> rows) {
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        long count = 0;
+        for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); count++) {
+            batch.add(iterator.next());
+            if (batch.size() == properties.getBatchSize()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        log.info("Inserted {} rows into {} in {} ms", count, table, (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * Hibernate's pooled optimizer hands out the block below the value it
+     * reads, so the sequence has to sit a full block above the last id.
+     */
+    private void restartSequence(String sequence, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + SEQUENCE_ALLOCATION + 1));
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.storeapplication.service;
 
-import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.dto.DealArchiveResponse;
+import com.example.storeapplication.dto.DealBulkCreateRequest;
+import com.example.storeapplication.dto.DealBulkCreateResponse;
+import com.example.storeapplication.dto.CursorPageResponse;
 import com.example.storeapplication.dto.DealCreateRequest;
+import com.example.storeapplication.dto.DealResponse;
 import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductBulkUpdateRequest;
+import com.example.storeapplication.dto.ProductBulkUpdateResponse;
 import com.example.storeapplication.dto.ProductCreateRequest;
 import com.example.storeapplication.dto.ProductResponse;
 import com.example.storeapplication.enums.Category;
@@ -20,11 +26,19 @@ public interface AdminService {
 
    void removeProduct(Long productId);
 
+    ProductBulkUpdateResponse bulkUpdateProducts(ProductBulkUpdateRequest request);
+
     ProductResponse createDeal(DealCreateRequest request);
 
+    DealBulkCreateResponse createDeals(DealBulkCreateRequest request);
+
    void removeDeal(Long dealId);
 
-    PageResponse<Deal> getAllDeals(int page, int size);
+    PageResponse<DealResponse> getAllDeals(int page, int size);
+
+    CursorPageResponse<DealResponse> getDeals(Long cursor, int size);
+
+    PageResponse<DealArchiveResponse> getArchivedDeals(Long productId, int page, int size);
 
 }
 
@@ -4,6 +4,8 @@ import com.example.storeapplication.dto.*;
 import com.example.storeapplication.enums.Category;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
 public interface CustomerService {
     String addToBasket(String sessionId, BasketItemRequest request);
@@ -12,6 +14,7 @@ public interface CustomerService {
     PageResponse<ProductResponse> getProducts(
             Category category, BigDecimal minPrice, BigDecimal maxPrice,
             Boolean available, int page, int size, String sortBy, String sortDir);
+    List<StockLevelResponse> getStockLevels(Collection<Long> productIds);
 
 
 }
@@ -1,34 +1,73 @@
 package com.example.storeapplication.service.impl;
 
 import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.DealArchive;
 import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.dto.DealArchiveResponse;
+import com.example.storeapplication.dto.DealBulkCreateRequest;
+import com.example.storeapplication.dto.DealBulkCreateResponse;
+import com.example.storeapplication.dto.CursorPageResponse;
 import com.example.storeapplication.dto.DealCreateRequest;
+import com.example.storeapplication.dto.DealResponse;
 import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductBulkUpdateRequest;
+import com.example.storeapplication.dto.ProductBulkUpdateResponse;
 import com.example.storeapplication.dto.ProductCreateRequest;
 import com.example.storeapplication.dto.ProductResponse;
 import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.event.CatalogChangedEvent;
 import com.example.storeapplication.exception.DealNotFoundException;
 import com.example.storeapplication.exception.ProductNotFoundException;
+import com.example.storeapplication.lock.InstrumentedLock;
+import com.example.storeapplication.repository.BasketItemRepository;
+import com.example.storeapplication.repository.DealArchiveRepository;
 import com.example.storeapplication.repository.DealRepository;
 import com.example.storeapplication.repository.ProductRepository;
+import com.example.storeapplication.scheduler.DealLifecycleScheduler;
 import com.example.storeapplication.service.AdminService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class AdminServiceImpl implements AdminService {
 
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
 
     private final DealRepository dealRepository;
+
+    private final DealArchiveRepository dealArchiveRepository;
+
+    private final BasketItemRepository basketItemRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DealLifecycleScheduler dealLifecycleScheduler;
+
+    private final InstrumentedLock stockLock;
+
     /**
      * @param category
      * @param minPrice
@@ -89,38 +128,139 @@ public class AdminServiceImpl implements AdminService {
         // Soft delete - mark as unavailable
         product.setAvailable(false);
         productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent(List.of(productId)));
     }
 
     /**
+     * Applies price and stock deltas with one set-based update per distinct
+     * delta pair, committing every {@value #BULK_CHUNK_SIZE} products. Products
+     * whose new price would not be positive or whose stock would go negative
+     * are left untouched and reported as skipped. Each chunk's transaction
+     * runs under the stock lock: basket operations write a product's whole row
+     * back, so a delta committed while one is in progress would be lost.
+     *
      * @param request
      * @return
      */
     @Override
-    public ProductResponse createDeal(DealCreateRequest request) {
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: "
-                        + request.getProductId()));
+    public ProductBulkUpdateResponse bulkUpdateProducts(ProductBulkUpdateRequest request) {
+        Map<Long, Adjustment> adjustments = new LinkedHashMap<>();
+        for (ProductBulkUpdateRequest.ProductAdjustment adjustment : request.getAdjustments()) {
+            adjustments.merge(adjustment.getProductId(),
+                    new Adjustment(adjustment.getPriceDelta(), adjustment.getStockDelta()),
+                    Adjustment::plus);
+        }
 
-        Deal deal = new Deal(
-                product,
-                request.getDescription(),
-                request.getBuyQuantity(),
-                request.getDiscountPercentage(),
-                request.getExpirationDate()
+        List<Long> productIds = new ArrayList<>(adjustments.keySet());
+        int updated = 0;
+        int repriced = 0;
+        int chunks = 0;
+
+        for (int from = 0; from < productIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, productIds.size()));
+            ChunkResult result;
+            stockLock.lock("bulk update of " + chunk.size() + " products");
+            try {
+                result = transactionTemplate.execute(status ->
+                        applyChunk(chunk, adjustments, request.isRepriceBaskets()));
+            } finally {
+                stockLock.unlock();
+            }
+
+            updated += result.updated();
+            repriced += result.repriced();
+            chunks++;
+            eventPublisher.publishEvent(new CatalogChangedEvent(List.copyOf(chunk)));
+        }
+
+        return new ProductBulkUpdateResponse(
+                request.getAdjustments().size(),
+                updated,
+                productIds.size() - updated,
+                repriced,
+                chunks
         );
+    }
 
-        if (request.getDiscountAmount() != null) {
-            deal.setDiscountAmount(request.getDiscountAmount());
+    private ChunkResult applyChunk(List<Long> chunk, Map<Long, Adjustment> adjustments, boolean repriceBaskets) {
+        Map<Adjustment, List<Long>> byDelta = new LinkedHashMap<>();
+        for (Long productId : chunk) {
+            Adjustment adjustment = adjustments.get(productId);
+            if (!adjustment.isNoop()) {
+                byDelta.computeIfAbsent(adjustment, key -> new ArrayList<>()).add(productId);
+            }
         }
 
-        if (request.getGetQuantity() != null) {
-            deal.setGetQuantity(request.getGetQuantity());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> repricedIds = new ArrayList<>();
+        int updated = 0;
+        for (Map.Entry<Adjustment, List<Long>> group : byDelta.entrySet()) {
+            Adjustment adjustment = group.getKey();
+            updated += productRepository.adjustPriceAndStock(
+                    group.getValue(), adjustment.priceDelta(), adjustment.stockDelta(), now);
+            if (adjustment.priceDelta().signum() != 0) {
+                repricedIds.addAll(group.getValue());
+            }
         }
 
-        dealRepository.save(deal);
+        int repriced = repriceBaskets && !repricedIds.isEmpty()
+                ? basketItemRepository.repriceForProducts(repricedIds)
+                : 0;
+        return new ChunkResult(updated, repriced);
+    }
+
+    /**
+     * @param request
+     * @return
+     */
+    @Override
+    public ProductResponse createDeal(DealCreateRequest request) {
+        Product product = productRepository.findById(request.getProductId())
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: "
+                        + request.getProductId()));
+
+        Deal deal = dealRepository.save(toDeal(product, request, LocalDateTime.now()));
+        dealLifecycleScheduler.schedule(deal);
         return mapToProductResponse(product);
     }
 
+    /**
+     * Creates all deals in one transaction: the products are fetched with a
+     * single multi-get and the deals are inserted in JDBC batches. Fails as a
+     * whole if any referenced product does not exist.
+     *
+     * @param request
+     * @return
+     */
+    @Override
+    public DealBulkCreateResponse createDeals(DealBulkCreateRequest request) {
+        Set<Long> productIds = request.getDeals().stream()
+                .map(DealCreateRequest::getProductId)
+                .collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Deal> deals = transactionTemplate.execute(status -> {
+            Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            if (products.size() != productIds.size()) {
+                Set<Long> missing = new TreeSet<>(productIds);
+                missing.removeAll(products.keySet());
+                throw new ProductNotFoundException("Products not found with ids: " + missing);
+            }
+
+            return dealRepository.saveAll(request.getDeals().stream()
+                    .map(dealRequest -> toDeal(products.get(dealRequest.getProductId()), dealRequest, now))
+                    .toList());
+        });
+
+        deals.forEach(dealLifecycleScheduler::schedule);
+        return new DealBulkCreateResponse(
+                deals.size(),
+                (int) deals.stream().filter(deal -> !deal.isActive()).count(),
+                deals.stream().map(Deal::getId).toList()
+        );
+    }
+
     /**
      * @param dealId
      */
@@ -130,7 +270,10 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new DealNotFoundException("Deal not found with id: " + dealId));
 
         deal.setActive(false);
+        // A removed deal must not look like one waiting for activation
+        deal.setActivationDate(null);
         dealRepository.save(deal);
+        dealLifecycleScheduler.cancel(dealId);
     }
 
     /**
@@ -139,9 +282,9 @@ public class AdminServiceImpl implements AdminService {
      * @return
      */
     @Override
-    public PageResponse<Deal> getAllDeals(int page, int size) {
+    public PageResponse<DealResponse> getAllDeals(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Deal> dealPage = dealRepository.findActiveDeals(LocalDateTime.now(), pageable);
+        Page<DealResponse> dealPage = dealRepository.findActiveDealResponses(LocalDateTime.now(), pageable);
 
         return new PageResponse<>(
                 dealPage.getContent(),
@@ -152,6 +295,73 @@ public class AdminServiceImpl implements AdminService {
         );
     }
 
+    /**
+     * Keyset variant of {@link #getAllDeals(int, int)}: newest deals first by
+     * id, one statement per page and no count query.
+     *
+     * @param cursor id of the last deal of the previous page, or null for the first page
+     * @param size
+     * @return
+     */
+    @Override
+    public CursorPageResponse<DealResponse> getDeals(Long cursor, int size) {
+        List<DealResponse> deals = dealRepository.findActiveDealResponsesBefore(
+                LocalDateTime.now(), cursor != null ? cursor : Long.MAX_VALUE, Limit.of(size + 1));
+
+        boolean hasNext = deals.size() > size;
+        List<DealResponse> content = hasNext ? deals.subList(0, size) : deals;
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+        return new CursorPageResponse<>(content, content.size(), nextCursor, hasNext);
+    }
+
+    /**
+     * @param productId
+     * @param page
+     * @param size
+     * @return
+     */
+    @Override
+    public PageResponse<DealArchiveResponse> getArchivedDeals(Long productId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("archivedAt").descending());
+        Page<DealArchive> archivePage = productId != null
+                ? dealArchiveRepository.findByProductId(productId, pageable)
+                : dealArchiveRepository.findAll(pageable);
+
+        return new PageResponse<>(
+                archivePage.getContent().stream()
+                        .map(this::mapToDealArchiveResponse)
+                        .toList(),
+                archivePage.getNumber(),
+                archivePage.getSize(),
+                archivePage.getTotalElements(),
+                archivePage.getTotalPages()
+        );
+    }
+
+    private Deal toDeal(Product product, DealCreateRequest request, LocalDateTime now) {
+        Deal deal = new Deal(
+                product,
+                request.getDescription(),
+                request.getBuyQuantity(),
+                request.getDiscountPercentage(),
+                request.getExpirationDate()
+        );
+
+        if (request.getDiscountAmount() != null) {
+            deal.setDiscountAmount(request.getDiscountAmount());
+        }
+
+        if (request.getGetQuantity() != null) {
+            deal.setGetQuantity(request.getGetQuantity());
+        }
+
+        if (request.getActivationDate() != null) {
+            deal.setActivationDate(request.getActivationDate());
+            deal.setActive(!request.getActivationDate().isAfter(now));
+        }
+
+        return deal;
+    }
 
     private ProductResponse mapToProductResponse(Product product) {
         return new ProductResponse(
@@ -166,6 +376,23 @@ public class AdminServiceImpl implements AdminService {
         );
     }
 
+    private DealArchiveResponse mapToDealArchiveResponse(DealArchive archived) {
+        return new DealArchiveResponse(
+                archived.getId(),
+                archived.getProductId(),
+                archived.getProductName(),
+                archived.getDescription(),
+                archived.getBuyQuantity(),
+                archived.getDiscountPercentage(),
+                archived.getDiscountAmount(),
+                archived.getGetQuantity(),
+                archived.getActivationDate(),
+                archived.getExpirationDate(),
+                archived.getCreatedAt(),
+                archived.getArchivedAt()
+        );
+    }
+
     private PageResponse<ProductResponse> mapToPageResponse(Page<Product> productPage) {
         return new PageResponse<>(
                 productPage.getContent().stream()
@@ -177,4 +404,23 @@ public class AdminServiceImpl implements AdminService {
                 productPage.getTotalPages()
         );
     }
+
+    private record ChunkResult(int updated, int repriced) {
+    }
+
+    private record Adjustment(BigDecimal priceDelta, int stockDelta) {
+        Adjustment(BigDecimal priceDelta, Integer stockDelta) {
+            this(priceDelta == null ? BigDecimal.ZERO : priceDelta.stripTrailingZeros(),
+                    stockDelta == null ? 0 : stockDelta.intValue());
+        }
+
+        Adjustment plus(Adjustment other) {
+            return new Adjustment(priceDelta.add(other.priceDelta).stripTrailingZeros(),
+                    stockDelta + other.stockDelta);
+        }
+
+        boolean isNoop() {
+            return priceDelta.signum() == 0 && stockDelta == 0;
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.example.storeapplication.service.impl;
+
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.dto.StockLevelResponse;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.event.CatalogChangedEvent;
+import com.example.storeapplication.service.CustomerService;
+import com.example.storeapplication.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sits in front of {@link CustomerServiceImpl} and outside its transaction.
+ * Identical product listing queries arriving together run once and share the
+ * page; the result is reused for {@code store.catalog.coalescing.grace}
+ * (250 ms by default) after it completes, and dropped early on a
+ * {@link CatalogChangedEvent}. Basket operations pass straight through.
+ */
+@Service
+@Primary
+public class CoalescingCustomerService implements CustomerService {
+
+    private final CustomerService delegate;
+
+    private final SingleFlight<ProductQuery, PageResponse<ProductResponse>> productQueries;
+
+    public CoalescingCustomerService(@Qualifier("customerServiceImpl") CustomerService delegate,
+                                     @Value("${store.catalog.coalescing.grace:250ms}") Duration grace,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.productQueries = new SingleFlight<>(grace.toNanos(), System::nanoTime);
+        counter(meterRegistry, "executed", SingleFlight::executedCount);
+        counter(meterRegistry, "coalesced", SingleFlight::coalescedCount);
+        counter(meterRegistry, "grace_hit", SingleFlight::graceHitCount);
+    }
+
+    /**
+     * @param sessionId
+     * @param request
+     * @return
+     */
+    @Override
+    public String addToBasket(String sessionId, BasketItemRequest request) {
+        return delegate.addToBasket(sessionId, request);
+    }
+
+    /**
+     * @param sessionId
+     * @param request
+     * @return
+     */
+    @Override
+    public String removeFromBasket(String sessionId, BasketItemRequest request) {
+        return delegate.removeFromBasket(sessionId, request);
+    }
+
+    /**
+     * @param sessionId
+     * @return
+     */
+    @Override
+    public ReceiptResponse calculateReceipt(String sessionId) {
+        return delegate.calculateReceipt(sessionId);
+    }
+
+    /**
+     * @param category
+     * @param minPrice
+     * @param maxPrice
+     * @param available
+     * @param page
+     * @param size
+     * @param sortBy
+     * @param sortDir
+     * @return
+     */
+    @Override
+    public PageResponse<ProductResponse> getProducts(Category category, BigDecimal minPrice,
+                                                     BigDecimal maxPrice, Boolean available,
+                                                     int page, int size, String sortBy, String sortDir) {
+        ProductQuery query = new ProductQuery(category, normalize(minPrice), normalize(maxPrice), available,
+                page, size, sortBy, sortDir.equalsIgnoreCase("desc"));
+        return productQueries.execute(query, () -> delegate.getProducts(
+                category, minPrice, maxPrice, available, page, size, sortBy, sortDir));
+    }
+
+    /**
+     * @param productIds
+     * @return
+     */
+    @Override
+    public List<StockLevelResponse> getStockLevels(Collection<Long> productIds) {
+        return delegate.getStockLevels(productIds);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        productQueries.clear();
+    }
+
+    private void counter(MeterRegistry meterRegistry, String outcome,
+                         ToDoubleFunction<SingleFlight<ProductQuery, PageResponse<ProductResponse>>> count) {
+        FunctionCounter.builder("store.catalog.coalescing", productQueries, count)
+                .description("Product listing queries by coalescing outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // 10 and 10.00 are the same filter
+    private static BigDecimal normalize(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros() : null;
+    }
+
+    private record ProductQuery(Category category, BigDecimal minPrice, BigDecimal maxPrice, Boolean available,
+                                int page, int size, String sortBy, boolean descending) {
+    }
+}
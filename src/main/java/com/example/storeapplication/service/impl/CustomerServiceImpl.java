@@ -6,10 +6,16 @@ import com.example.storeapplication.dto.*;
 import com.example.storeapplication.enums.Category;
 import com.example.storeapplication.exception.InsufficientStockException;
 import com.example.storeapplication.exception.ProductNotFoundException;
+import com.example.storeapplication.jfr.BasketOperationEvent;
+import com.example.storeapplication.jfr.StoreOperationEvent;
+import com.example.storeapplication.lock.InstrumentedLock;
 import com.example.storeapplication.repository.BasketRepository;
 import com.example.storeapplication.repository.ProductRepository;
 import com.example.storeapplication.service.CustomerService;
 import com.example.storeapplication.service.ReceiptCalculationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
@@ -17,10 +23,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
 
+/**
+ * Basket operations and receipts, timed under {@code store.basket.add},
+ * {@code store.basket.remove} and {@code store.receipt.calculate} tagged by
+ * outcome. Time spent waiting for and holding the stock lock is recorded by
+ * {@link InstrumentedLock} so it can be told apart from database and pricing
+ * time. The lock is held until the surrounding transaction has committed or
+ * rolled back, so the next reservation never reads stock another one has
+ * changed but not yet written. Basket operations are also emitted as
+ * {@link BasketOperationEvent}s for Flight Recorder.
+ */
 @Service
 @AllArgsConstructor
 @Transactional
@@ -30,10 +50,12 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final ProductRepository productRepository;
 
-    private final ReentrantLock stockLock = new ReentrantLock();
+    private final InstrumentedLock stockLock;
 
     private final ReceiptCalculationService receiptCalculationService;
 
+    private final MeterRegistry meterRegistry;
+
     /**
      * @param sessionId
      * @param request
@@ -41,16 +63,23 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public String addToBasket(String sessionId, BasketItemRequest request) {
-        stockLock.lock();
+        BasketOperationEvent event = new BasketOperationEvent("add", sessionId, request.getProductId(), request.getQuantity());
+        return timed("store.basket.add", event, () -> reserveAndAdd(sessionId, request, event));
+    }
+
+    private String reserveAndAdd(String sessionId, BasketItemRequest request, BasketOperationEvent event) {
+        stockLock.lock(new StockLockContext(sessionId, request.getProductId(), "add"));
         try {
             Product product = productRepository.findById(request.getProductId())
                     .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + request.getProductId()));
 
             if (!product.isAvailable()) {
+                rejectStock("unavailable");
                 throw new ProductNotFoundException("Product is not available");
             }
 
             if (product.getStock() < request.getQuantity()) {
+                rejectStock("insufficient_stock");
                 throw new InsufficientStockException(
                         String.format("Insufficient stock. Available: %d, Requested: %d",
                                 product.getStock(), request.getQuantity())
@@ -68,7 +97,16 @@ public class CustomerServiceImpl implements CustomerService {
                 }
             }
 
+            if (attempts > 1) {
+                Counter.builder("store.stock.reservation.retries")
+                        .description("Extra attempts needed to reserve stock")
+                        .tag("outcome", success ? "success" : "exhausted")
+                        .register(meterRegistry)
+                        .increment(attempts - 1);
+            }
+
             if (!success) {
+                rejectStock("reservation_failed");
                 throw new InsufficientStockException("Failed to reserve stock after multiple attempts");
             }
 
@@ -78,6 +116,7 @@ public class CustomerServiceImpl implements CustomerService {
             basket.addItem(product, request.getQuantity());
             basketRepository.save(basket);
             productRepository.save(product);
+            event.setItemCount(basket.getItems().size());
 
             return "Product added to basket successfully";
 
@@ -85,7 +124,7 @@ public class CustomerServiceImpl implements CustomerService {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Operation was interrupted", e);
         } finally {
-            stockLock.unlock();
+            unlockStockAfterCompletion();
         }
     }
 
@@ -96,7 +135,12 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public String removeFromBasket(String sessionId, BasketItemRequest request) {
-        stockLock.lock();
+        BasketOperationEvent event = new BasketOperationEvent("remove", sessionId, request.getProductId(), request.getQuantity());
+        return timed("store.basket.remove", event, () -> returnAndRemove(sessionId, request, event));
+    }
+
+    private String returnAndRemove(String sessionId, BasketItemRequest request, BasketOperationEvent event) {
+        stockLock.lock(new StockLockContext(sessionId, request.getProductId(), "remove"));
         try {
             Basket basket = basketRepository.findBySessionId(sessionId)
                     .orElseThrow(() -> new RuntimeException("Basket not found for session: " + sessionId));
@@ -110,13 +154,14 @@ public class CustomerServiceImpl implements CustomerService {
                 product.incrementStock(request.getQuantity());
                 basketRepository.save(basket);
                 productRepository.save(product);
+                event.setItemCount(basket.getItems().size());
                 return "Product removed from basket successfully";
             } else {
                 throw new RuntimeException("Product not found in basket or insufficient quantity");
             }
 
         } finally {
-            stockLock.unlock();
+            unlockStockAfterCompletion();
         }
     }
 
@@ -127,10 +172,12 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     @Transactional
     public ReceiptResponse calculateReceipt(String sessionId) {
-        Basket basket = basketRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new RuntimeException("Basket not found for session: " + sessionId));
+        return timed("store.receipt.calculate", null, () -> {
+            Basket basket = basketRepository.findBySessionId(sessionId)
+                    .orElseThrow(() -> new RuntimeException("Basket not found for session: " + sessionId));
 
-        return receiptCalculationService.calculateReceipt(basket);
+            return receiptCalculationService.calculateReceipt(basket);
+        });
     }
 
 
@@ -159,6 +206,71 @@ public class CustomerServiceImpl implements CustomerService {
 
     }
 
+    /**
+     * @param productIds
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockLevelResponse> getStockLevels(Collection<Long> productIds) {
+        return productRepository.findAllById(productIds).stream()
+                .map(product -> new StockLevelResponse(product.getId(), product.getStock(), 0))
+                .toList();
+    }
+
+    private <T> T timed(String name, StoreOperationEvent event, Supplier<T> operation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (event != null) {
+            event.start();
+        }
+        String outcome = "error";
+        try {
+            T result = operation.get();
+            outcome = "success";
+            return result;
+        } catch (InsufficientStockException e) {
+            outcome = "insufficient_stock";
+            throw e;
+        } catch (ProductNotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } finally {
+            if (event != null) {
+                event.finish(outcome);
+            }
+            sample.stop(Timer.builder(name)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Releasing the lock before the commit let a second shopper reserve stock
+     * the first had already taken, overselling under load (see
+     * {@code OversellStressBenchmark}).
+     */
+    private void unlockStockAfterCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockLock.unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stockLock.unlock();
+            }
+        });
+    }
+
+    private void rejectStock(String reason) {
+        Counter.builder("store.stock.rejections")
+                .description("Basket additions refused because of stock")
+                .tag("outcome", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
     private ProductResponse mapToProductResponse(Product product) {
         return new ProductResponse(
                 product.getId(),
@@ -184,4 +296,15 @@ public class CustomerServiceImpl implements CustomerService {
         );
     }
 
+    /**
+     * Who holds the stock lock, as shown by {@code /actuator/stocklocks}. Only
+     * a prefix of the basket id is kept because it doubles as a credential.
+     */
+    private record StockLockContext(String sessionId, Long productId, String operation) {
+        @Override
+        public String toString() {
+            String basket = sessionId == null || sessionId.length() <= 8 ? sessionId : sessionId.substring(0, 8) + "...";
+            return operation + " basket=" + basket + " product=" + productId;
+        }
+    }
 }
@@ -4,8 +4,12 @@ import com.example.storeapplication.domain.Basket;
 import com.example.storeapplication.domain.BasketItem;
 import com.example.storeapplication.domain.Deal;
 import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.jfr.ReceiptCalculationEvent;
 import com.example.storeapplication.repository.DealRepository;
 import com.example.storeapplication.service.ReceiptCalculationService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -21,12 +25,37 @@ public class ReceiptCalculationServiceImpl implements ReceiptCalculationService
 
    private DealRepository dealRepository;
 
+   private MeterRegistry meterRegistry;
+
     /**
      * @param basket
      * @return
      */
     @Override
     public ReceiptResponse calculateReceipt(Basket basket) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ReceiptCalculationEvent event = new ReceiptCalculationEvent(basket.getSessionId(), basket.getItems().size());
+        event.start();
+        String outcome = "error";
+        try {
+            ReceiptResponse receipt = price(basket, event);
+            outcome = receipt.getAppliedDeals().isEmpty() ? "full_price" : "discounted";
+            return receipt;
+        } finally {
+            event.finish(outcome);
+            if (!"error".equals(outcome)) {
+                sample.stop(Timer.builder("store.receipt.pricing")
+                        .description("Deal lookup and discount calculation for one receipt")
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    private ReceiptResponse price(Basket basket, ReceiptCalculationEvent event) {
+        int dealsEvaluated = 0;
+
         ReceiptResponse receipt = new ReceiptResponse();
         receipt.setSessionId(basket.getSessionId());
 
@@ -56,6 +85,7 @@ public class ReceiptCalculationServiceImpl implements ReceiptCalculationService
                     item.getProduct().getId(),
                     LocalDateTime.now()
             );
+            dealsEvaluated += activeDeals.size();
 
             for (Deal deal : activeDeals) {
                 if (!deal.isExpired()) {
@@ -79,6 +109,15 @@ public class ReceiptCalculationServiceImpl implements ReceiptCalculationService
         receipt.setTotalDiscount(totalDiscount);
         receipt.setTotalPrice(totalPrice.max(BigDecimal.ZERO));
 
+        String outcome = appliedDeals.isEmpty() ? "full_price" : "discounted";
+        DistributionSummary.builder("store.receipt.deals.evaluated")
+                .description("Active deals checked while pricing one receipt")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(dealsEvaluated);
+        event.setDealsEvaluated(dealsEvaluated);
+
         return receipt;
     }
 
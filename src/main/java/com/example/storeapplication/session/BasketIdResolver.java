@@ -0,0 +1,23 @@
+package com.example.storeapplication.session;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Optional;
+
+/**
+ * Maps an HTTP request to the key its basket is stored under.
+ */
+public interface BasketIdResolver {
+
+    /**
+     * Returns the basket id of the caller, assigning a new one (and telling the
+     * client about it through the response) if the request carries none.
+     */
+    String resolve(HttpServletRequest request, HttpServletResponse response);
+
+    /**
+     * Returns the basket id of the caller without creating any state.
+     */
+    Optional<String> peek(HttpServletRequest request);
+}
@@ -0,0 +1,95 @@
+package com.example.storeapplication.session;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact basket tokens of the form
+ * {@code base64url(basketId) "." base64url(hmacSha256(basketId)[0..16])}.
+ * The basket id travels with the client, so no server-side session state is
+ * needed to find a basket; the truncated 128-bit MAC stops clients from
+ * forging ids of other baskets.
+ */
+public class BasketTokenCodec {
+
+    public static final String HEADER = "X-Basket-Token";
+
+    public static final String COOKIE = "BASKET_TOKEN";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int MAC_LENGTH = 16;
+
+    private static final int MAX_TOKEN_LENGTH = 512;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public BasketTokenCodec(byte[] secret) {
+        if (secret == null || secret.length < 32) {
+            throw new IllegalArgumentException("Basket token secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * @return a new random basket id
+     */
+    public String newBasketId() {
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return ENCODER.encodeToString(id);
+    }
+
+    public String issue(String basketId) {
+        byte[] id = basketId.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(id) + "." + ENCODER.encodeToString(mac(id));
+    }
+
+    /**
+     * @param token
+     * @return the basket id carried by the token, or empty if it is malformed or its signature does not match
+     */
+    public Optional<String> verify(String token) {
+        if (token == null || token.length() > MAX_TOKEN_LENGTH) {
+            return Optional.empty();
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] id = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(mac(id), signature)) {
+                return Optional.empty();
+            }
+            return Optional.of(new String(id, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] mac(byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(data), MAC_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
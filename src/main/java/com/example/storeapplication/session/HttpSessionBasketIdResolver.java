@@ -0,0 +1,28 @@
+package com.example.storeapplication.session;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Default mode: the servlet session id is the basket id.
+ */
+@Component
+@ConditionalOnProperty(name = "store.basket.identity", havingValue = "session", matchIfMissing = true)
+public class HttpSessionBasketIdResolver implements BasketIdResolver {
+
+    @Override
+    public String resolve(HttpServletRequest request, HttpServletResponse response) {
+        return request.getSession(true).getId();
+    }
+
+    @Override
+    public Optional<String> peek(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return Optional.ofNullable(session != null ? session.getId() : null);
+    }
+}
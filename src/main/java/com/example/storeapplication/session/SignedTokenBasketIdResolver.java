@@ -0,0 +1,104 @@
+package com.example.storeapplication.session;
+
+import com.example.storeapplication.config.BasketTokenProperties;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Optional;
+
+/**
+ * Stateless mode: the basket id travels in an HMAC-signed token, sent back by
+ * the client either in the {@value #HEADER} header or the {@value #COOKIE}
+ * cookie. Nothing is stored server side and no {@code HttpSession} is created.
+ * <p>
+ * Migration: while {@code store.basket.token.accept-legacy-session-ids} is on,
+ * a request without a token but with the {@code JSESSIONID} of a session that
+ * still exists keeps using that session id as its basket id and is issued a
+ * token for it, so baskets created in session mode stay reachable after the
+ * switch. An unknown session id is ignored, otherwise any cookie value would
+ * become a basket id and a fresh rate limit key.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "store.basket.identity", havingValue = "token")
+public class SignedTokenBasketIdResolver implements BasketIdResolver {
+
+    public static final String HEADER = BasketTokenCodec.HEADER;
+
+    public static final String COOKIE = BasketTokenCodec.COOKIE;
+
+    private final BasketTokenCodec codec;
+
+    private final BasketTokenProperties properties;
+
+    public SignedTokenBasketIdResolver(BasketTokenProperties properties) {
+        this.properties = properties;
+        this.codec = new BasketTokenCodec(secret(properties));
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request, HttpServletResponse response) {
+        Optional<String> basketId = fromToken(request);
+        if (basketId.isPresent()) {
+            return basketId.get();
+        }
+
+        String id = legacySessionId(request).orElseGet(codec::newBasketId);
+        String token = codec.issue(id);
+        response.setHeader(HEADER, token);
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, token)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(properties.getCookieMaxAge())
+                .build()
+                .toString());
+        return id;
+    }
+
+    @Override
+    public Optional<String> peek(HttpServletRequest request) {
+        return fromToken(request).or(() -> legacySessionId(request));
+    }
+
+    private Optional<String> fromToken(HttpServletRequest request) {
+        String token = request.getHeader(HEADER);
+        if (token == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    token = cookie.getValue();
+                    break;
+                }
+            }
+        }
+        return codec.verify(token);
+    }
+
+    private Optional<String> legacySessionId(HttpServletRequest request) {
+        if (!properties.isAcceptLegacySessionIds()) {
+            return Optional.empty();
+        }
+        String sessionId = request.getRequestedSessionId();
+        return sessionId != null && request.isRequestedSessionIdValid() ? Optional.of(sessionId) : Optional.empty();
+    }
+
+    private static byte[] secret(BasketTokenProperties properties) {
+        if (properties.getSecret() != null && !properties.getSecret().isBlank()) {
+            return properties.getSecret().getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("store.basket.token.secret is not set; using a random secret, "
+                + "basket tokens will not survive a restart or work across instances");
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+}
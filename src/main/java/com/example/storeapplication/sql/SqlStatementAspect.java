@@ -0,0 +1,39 @@
+package com.example.storeapplication.sql;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Counts statements per public service method. Runs outside the transaction
+ * advice so the flush at commit is included.
+ */
+@Aspect
+public class SqlStatementAspect implements Ordered {
+
+    private final SqlStatementReporter reporter;
+
+    public SqlStatementAspect(SqlStatementReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Around("within(com.example.storeapplication.service..*) && execution(public * *(..))")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        SqlStatementScope scope = SqlStatementCounter.open(name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            scope.close();
+            reporter.report(scope, "method");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.storeapplication.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Hibernate {@link StatementInspector} that attributes every prepared
+ * statement to the {@link SqlStatementScope}s open on the current thread.
+ * A batched insert is prepared once and so counts once. The SQL is passed
+ * through unchanged; with no scope open the only cost is a thread-local read.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Deque<SqlStatementScope>> SCOPES = new ThreadLocal<>();
+
+    /**
+     * Starts counting on the current thread; close the scope in a finally block.
+     *
+     * @param name
+     * @return the new innermost scope
+     */
+    public static SqlStatementScope open(String name) {
+        Deque<SqlStatementScope> stack = SCOPES.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            SCOPES.set(stack);
+        }
+        SqlStatementScope scope = new SqlStatementScope(name, stack);
+        stack.push(scope);
+        return scope;
+    }
+
+    static void clear() {
+        SCOPES.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Deque<SqlStatementScope> stack = SCOPES.get();
+        if (stack != null) {
+            for (SqlStatementScope scope : stack) {
+                scope.record(sql);
+            }
+        }
+        return sql;
+    }
+}
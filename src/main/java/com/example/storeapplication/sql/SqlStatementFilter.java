@@ -0,0 +1,92 @@
+package com.example.storeapplication.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the statements of each HTTP request and reports the count in the
+ * {@value #HEADER} response header. The header is written just before the
+ * body starts, which is after the controller has returned, so statements
+ * issued while streaming the body are logged but not in the header.
+ */
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-DB-Statements";
+
+    private final SqlStatementReporter reporter;
+
+    public SqlStatementFilter(SqlStatementReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementScope scope = SqlStatementCounter.open(request.getMethod() + " " + request.getRequestURI());
+        StatementCountResponse wrapped = new StatementCountResponse(response, scope);
+        try {
+            filterChain.doFilter(request, wrapped);
+            wrapped.writeHeader();
+        } finally {
+            scope.close();
+            reporter.report(scope, "request");
+        }
+    }
+
+    private static final class StatementCountResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementScope scope;
+
+        private boolean headerWritten;
+
+        private StatementCountResponse(HttpServletResponse response, SqlStatementScope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        private void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(scope.getCount()));
+                headerWritten = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.storeapplication.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how many statements a request or service method needed and warns
+ * when one statement was repeated often enough to look like an N+1.
+ */
+@Slf4j
+public class SqlStatementReporter {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int repeatedStatementThreshold;
+
+    public SqlStatementReporter(MeterRegistry meterRegistry, int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    /**
+     * @param scope a closed scope
+     * @param kind {@code request} or {@code method}
+     */
+    public void report(SqlStatementScope scope, String kind) {
+        DistributionSummary.Builder statements = DistributionSummary.builder("store.sql.statements")
+                .description("Statements prepared per request or service method")
+                .tag("scope", kind);
+        if ("method".equals(kind)) {
+            statements.tag("method", scope.getName());
+        }
+        statements.register(meterRegistry).record(scope.getCount());
+
+        scope.repeatedMoreThan(repeatedStatementThreshold).forEach((sql, times) -> {
+            Counter.builder("store.sql.repeated")
+                    .description("Statements repeated above the N+1 threshold within one scope")
+                    .tag("scope", kind)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 in {}: statement prepared {} times: {}", scope.getName(), times, sql);
+        });
+    }
+}
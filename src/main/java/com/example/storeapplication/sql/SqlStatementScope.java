@@ -0,0 +1,68 @@
+package com.example.storeapplication.sql;
+
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements prepared on one thread between {@link SqlStatementCounter#open}
+ * and {@link #close()}. Scopes nest: a statement counts towards every scope
+ * open on the thread, so a request scope includes its service method scopes.
+ */
+public final class SqlStatementScope implements AutoCloseable {
+
+    private final String name;
+
+    private final Deque<SqlStatementScope> stack;
+
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    private int count;
+
+    SqlStatementScope(String name, Deque<SqlStatementScope> stack) {
+        this.name = name;
+        this.stack = stack;
+    }
+
+    void record(String sql) {
+        count++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return each distinct statement with the number of times it was prepared, in first-seen order
+     */
+    public Map<String, Integer> getStatements() {
+        return statements;
+    }
+
+    /**
+     * @param threshold
+     * @return the statements prepared more than {@code threshold} times
+     */
+    public Map<String, Integer> repeatedMoreThan(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.forEach((sql, times) -> {
+            if (times > threshold) {
+                repeated.put(sql, times);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public void close() {
+        stack.remove(this);
+        if (stack.isEmpty()) {
+            SqlStatementCounter.clear();
+        }
+    }
+}
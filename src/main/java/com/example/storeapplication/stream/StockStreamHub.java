@@ -0,0 +1,295 @@
+package com.example.storeapplication.stream;
+
+import com.example.storeapplication.config.StockStreamProperties;
+import com.example.storeapplication.dto.StockLevelResponse;
+import com.example.storeapplication.event.StockChangedEvent;
+import com.example.storeapplication.exception.InvalidStreamRequestException;
+import com.example.storeapplication.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Fans committed stock changes out to server-sent event streams.
+ * <p>
+ * Publishing never touches a connection: a change is merged into the pending
+ * map of each subscriber watching the product, so repeated changes to one
+ * product collapse into a single entry carrying the latest level and the
+ * summed delta. {@link #flush()} hands each subscriber's pending changes to
+ * a sender thread as one event. A subscriber gets at most one send in flight;
+ * while it is busy its changes keep merging, and once a write has been stuck
+ * on its socket for longer than the slow consumer timeout the stream is
+ * dropped. The clock starts when a sender thread begins the write, so time
+ * spent queued behind other slow clients never counts against a subscriber.
+ * <p>
+ * The scheduler thread never completes an emitter whose write may be
+ * blocked: {@code complete()} waits for the emitter's monitor, which the
+ * write holds, and would stall every scheduled job. A dropped subscriber is
+ * only marked, and its sender completes it once the write returns or fails.
+ * <p>
+ * Sends run on a fixed number of threads. Since every subscriber has at most
+ * one send queued or running, the queue never needs more room than there are
+ * subscribers; a rejected send keeps its changes pending for the next flush.
+ */
+@Slf4j
+@Component
+public class StockStreamHub {
+
+    static final String EVENT_NAME = "stock";
+
+    private final StockStreamProperties properties;
+
+    private final Executor sender;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<Long, Set<Subscriber>> subscribersByProduct = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final AtomicLong droppedSlowConsumers = new AtomicLong();
+
+    @Autowired
+    public StockStreamHub(StockStreamProperties properties) {
+        this(properties, senderPool(properties), System::nanoTime);
+    }
+
+    StockStreamHub(StockStreamProperties properties, Executor sender, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.sender = sender;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Opens a stream of changes to the given products. The current levels are
+     * looked up once the subscriber is registered, so no change can fall in
+     * between, and go out with the next flush so the client does not have to
+     * poll first.
+     *
+     * @param productIds
+     * @param currentLevels loads the stock levels of the given products
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Collection<Long> productIds,
+                                Function<Collection<Long>, List<StockLevelResponse>> currentLevels) {
+        return register(new SseEmitter(properties.getEmitterTimeout().toMillis()), productIds, currentLevels);
+    }
+
+    SseEmitter register(SseEmitter emitter, Collection<Long> productIds,
+                        Function<Collection<Long>, List<StockLevelResponse>> currentLevels) {
+        if (productIds.isEmpty() || productIds.size() > properties.getMaxProductsPerSubscriber()) {
+            throw new InvalidStreamRequestException(
+                    "Between 1 and " + properties.getMaxProductsPerSubscriber() + " product ids are required");
+        }
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceOverloadedException("Too many open stock streams", 5);
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(productIds), nanoClock.getAsLong());
+        subscribers.add(subscriber);
+        for (Long productId : subscriber.productIds) {
+            subscribersByProduct.compute(productId, (id, watching) -> {
+                Set<Subscriber> result = watching == null ? ConcurrentHashMap.newKeySet() : watching;
+                result.add(subscriber);
+                return result;
+            });
+        }
+        try {
+            for (StockLevelResponse level : currentLevels.apply(subscriber.productIds)) {
+                // A change that arrived meanwhile is at least as recent as the lookup
+                subscriber.pending.putIfAbsent(level.getProductId(), level);
+            }
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        Set<Subscriber> watching = subscribersByProduct.get(event.getProductId());
+        if (watching == null) {
+            return;
+        }
+        StockLevelResponse change = new StockLevelResponse(event.getProductId(), event.getStock(), event.getDelta());
+        for (Subscriber subscriber : watching) {
+            subscriber.pending.merge(event.getProductId(), change, (previous, next) ->
+                    new StockLevelResponse(next.getProductId(), next.getStock(), previous.getDelta() + next.getDelta()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${store.stock-stream.flush-interval:250ms}")
+    public void flush() {
+        long now = nanoClock.getAsLong();
+        long slowAfter = properties.getSlowConsumerTimeout().toNanos();
+        long heartbeatAfter = properties.getHeartbeatInterval().toNanos();
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sending.get()) {
+                if (subscriber.writing && now - subscriber.writeStartedAt > slowAfter) {
+                    droppedSlowConsumers.incrementAndGet();
+                    log.debug("Dropping stock stream that has not accepted a write for {}", properties.getSlowConsumerTimeout());
+                    remove(subscriber);
+                    subscriber.closeRequested = true;
+                    if (!subscriber.sending.get()) {
+                        // The write finished meanwhile and may have missed the request
+                        subscriber.close();
+                    }
+                }
+                continue;
+            }
+            if (!subscriber.pending.isEmpty()) {
+                send(subscriber, subscriber.drain());
+            } else if (now - subscriber.lastSentAt > heartbeatAfter) {
+                send(subscriber, null);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long droppedSlowConsumerCount() {
+        return droppedSlowConsumers.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static ExecutorService senderPool(StockStreamProperties properties) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(properties.getSenderThreads(), properties.getSenderThreads(),
+                1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(properties.getMaxSubscribers()), runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private void send(Subscriber subscriber, List<StockLevelResponse> changes) {
+        subscriber.sending.set(true);
+        try {
+            sender.execute(() -> {
+                subscriber.writeStartedAt = nanoClock.getAsLong();
+                subscriber.writing = true;
+                try {
+                    if (changes == null) {
+                        subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event().name(EVENT_NAME).data(changes, MediaType.APPLICATION_JSON));
+                    }
+                    subscriber.lastSentAt = nanoClock.getAsLong();
+                    subscriber.writing = false;
+                    subscriber.sending.set(false);
+                    if (subscriber.closeRequested) {
+                        subscriber.close();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the emitter's error callback may not fire for a write failure
+                    remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (changes != null) {
+                subscriber.restore(changes);
+            }
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        for (Long productId : subscriber.productIds) {
+            subscribersByProduct.computeIfPresent(productId, (id, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> productIds;
+        private final Map<Long, StockLevelResponse> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean writing;
+        private volatile long writeStartedAt;
+        private volatile boolean closeRequested;
+        private volatile long lastSentAt;
+
+        private Subscriber(SseEmitter emitter, Set<Long> productIds, long now) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+            this.lastSentAt = now;
+        }
+
+        private List<StockLevelResponse> drain() {
+            List<StockLevelResponse> changes = new ArrayList<>(pending.size());
+            for (Long productId : pending.keySet()) {
+                StockLevelResponse change = pending.remove(productId);
+                if (change != null) {
+                    changes.add(change);
+                }
+            }
+            return changes;
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        private void restore(List<StockLevelResponse> changes) {
+            for (StockLevelResponse change : changes) {
+                // A change merged since the drain carries the newer level
+                pending.merge(change.getProductId(), change, (newer, older) ->
+                        new StockLevelResponse(newer.getProductId(), newer.getStock(), older.getDelta() + newer.getDelta()));
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.storeapplication.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Turns Micrometer observations into spans and keeps finished traces in a
+ * {@link TraceStore}. A trace starts at an observation without a parent
+ * whose name is one of the configured roots, usually
+ * {@code http.server.requests}; whether it is sampled is decided there and
+ * its descendants follow that decision. Other parentless observations, such
+ * as scheduled task runs, are never traced, so background ticks cannot push
+ * requests out of the store. Nothing leaves the process.
+ * <p>
+ * The layer of a span is the observation's {@code layer} key value, or the
+ * observation name for observations created by Spring itself.
+ */
+public class LocalTracer implements ObservationHandler<Observation.Context> {
+
+    public static final String LAYER = "layer";
+
+    private static final SpanState UNSAMPLED = new SpanState(null, -1, -1, 0);
+
+    private final TraceStore store;
+
+    private final Set<String> rootNames;
+
+    private final double sampleRate;
+
+    private final int maxSpansPerTrace;
+
+    private final LongSupplier nanoClock;
+
+    private final Clock clock;
+
+    private final DoubleSupplier random;
+
+    public LocalTracer(TraceStore store, Collection<String> rootNames, double sampleRate, int maxSpansPerTrace) {
+        this(store, rootNames, sampleRate, maxSpansPerTrace, System::nanoTime, Clock.systemUTC(),
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    LocalTracer(TraceStore store, Collection<String> rootNames, double sampleRate, int maxSpansPerTrace,
+                LongSupplier nanoClock, Clock clock, DoubleSupplier random) {
+        this.store = store;
+        this.rootNames = Set.copyOf(rootNames);
+        this.sampleRate = sampleRate;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.nanoClock = nanoClock;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * Whether spans started under the given observation will be recorded.
+     * Instrumentation checks this first so unsampled requests pay nothing.
+     */
+    public boolean isSampled(ObservationView observation) {
+        if (observation == null) {
+            return false;
+        }
+        SpanState state = observation.getContextView().get(SpanState.class);
+        return state != null && state.trace != null;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        ObservationView parent = context.getParentObservation();
+        SpanState parentState = parent == null ? null : parent.getContextView().get(SpanState.class);
+        long now = nanoClock.getAsLong();
+
+        if (parentState == null) {
+            if (!rootNames.contains(context.getName()) || sampleRate <= 0 || random.getAsDouble() >= sampleRate) {
+                context.put(SpanState.class, UNSAMPLED);
+                return;
+            }
+            ActiveTrace trace = new ActiveTrace(Long.toHexString(ThreadLocalRandom.current().nextLong()),
+                    clock.instant(), now);
+            context.put(SpanState.class, new SpanState(trace, trace.nextSpanId.getAndIncrement(), -1, now));
+        } else if (parentState.trace == null) {
+            context.put(SpanState.class, UNSAMPLED);
+        } else {
+            ActiveTrace trace = parentState.trace;
+            context.put(SpanState.class, new SpanState(trace, trace.nextSpanId.getAndIncrement(), parentState.id, now));
+        }
+    }
+
+    @Override
+    public void onError(Observation.Context context) {
+        SpanState state = context.get(SpanState.class);
+        if (state != null && state.trace != null && context.getError() != null) {
+            state.error = context.getError().getClass().getSimpleName();
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        SpanState state = context.get(SpanState.class);
+        if (state == null || state.trace == null) {
+            return;
+        }
+        ActiveTrace trace = state.trace;
+        long now = nanoClock.getAsLong();
+        String name = context.getContextualName() != null ? context.getContextualName() : context.getName();
+        KeyValue layer = context.getLowCardinalityKeyValue(LAYER);
+        trace.add(new SpanRecord(state.id, state.parentId, layer != null ? layer.getValue() : context.getName(), name,
+                millis(state.startedAt - trace.startedAtNanos), millis(now - state.startedAt), state.error),
+                maxSpansPerTrace);
+
+        if (state.parentId == -1) {
+            store.add(trace.finish(name, millis(now - trace.startedAtNanos)));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class SpanState {
+        private final ActiveTrace trace;
+        private final int id;
+        private final int parentId;
+        private final long startedAt;
+        private volatile String error;
+
+        private SpanState(ActiveTrace trace, int id, int parentId, long startedAt) {
+            this.trace = trace;
+            this.id = id;
+            this.parentId = parentId;
+            this.startedAt = startedAt;
+        }
+    }
+
+    private static final class ActiveTrace {
+        private final String traceId;
+        private final Instant startedAt;
+        private final long startedAtNanos;
+        private final AtomicInteger nextSpanId = new AtomicInteger();
+        private final List<SpanRecord> spans = new ArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private int droppedSpans;
+
+        private ActiveTrace(String traceId, Instant startedAt, long startedAtNanos) {
+            this.traceId = traceId;
+            this.startedAt = startedAt;
+            this.startedAtNanos = startedAtNanos;
+        }
+
+        private void add(SpanRecord span, int maxSpans) {
+            lock.lock();
+            try {
+                // The root stops last and is always kept so the trace has a name and duration
+                if (spans.size() < maxSpans || span.parentId() == -1) {
+                    spans.add(span);
+                } else {
+                    droppedSpans++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private TraceRecord finish(String name, double durationMs) {
+            List<SpanRecord> ordered;
+            int dropped;
+            lock.lock();
+            try {
+                ordered = new ArrayList<>(spans);
+                dropped = droppedSpans;
+            } finally {
+                lock.unlock();
+            }
+            ordered.sort(Comparator.comparingDouble(SpanRecord::startMs).thenComparingInt(SpanRecord::id));
+            return new TraceRecord(traceId, name, startedAt, durationMs, dropped, List.copyOf(ordered));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.storeapplication.tracing;
+
+/**
+ * One finished span. Offsets and durations are in milliseconds from the
+ * start of the trace; the root span has id 0 and parent -1.
+ */
+public record SpanRecord(int id, int parentId, String layer, String name, double startMs, double durationMs,
+                         String error) {
+}
@@ -0,0 +1,12 @@
+package com.example.storeapplication.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A finished trace as served by the {@code traces} actuator endpoint, spans
+ * ordered by start.
+ */
+public record TraceRecord(String traceId, String name, Instant startedAt, double durationMs, int droppedSpans,
+                          List<SpanRecord> spans) {
+}
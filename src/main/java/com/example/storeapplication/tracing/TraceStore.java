@@ -0,0 +1,70 @@
+package com.example.storeapplication.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The most recent finished traces, oldest dropped first.
+ */
+public class TraceStore {
+
+    private final int capacity;
+
+    private final Deque<TraceRecord> traces;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TraceStore(int capacity) {
+        this.capacity = capacity;
+        this.traces = new ArrayDeque<>(capacity);
+    }
+
+    public void add(TraceRecord trace) {
+        lock.lock();
+        try {
+            if (traces.size() == capacity) {
+                traces.removeFirst();
+            }
+            traces.addLast(trace);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TraceRecord> slowest(int limit) {
+        List<TraceRecord> snapshot = snapshot();
+        snapshot.sort(Comparator.comparingDouble(TraceRecord::durationMs).reversed());
+        return List.copyOf(snapshot.subList(0, Math.min(limit, snapshot.size())));
+    }
+
+    public List<TraceRecord> recent(int limit) {
+        List<TraceRecord> snapshot = snapshot();
+        List<TraceRecord> recent = new ArrayList<>(Math.min(limit, snapshot.size()));
+        for (int i = snapshot.size() - 1; i >= 0 && recent.size() < limit; i--) {
+            recent.add(snapshot.get(i));
+        }
+        return recent;
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            traces.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<TraceRecord> snapshot() {
+        lock.lock();
+        try {
+            return new ArrayList<>(traces);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
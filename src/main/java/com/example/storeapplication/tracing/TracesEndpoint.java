@@ -0,0 +1,41 @@
+package com.example.storeapplication.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/traces/slow}: the slowest of the recently finished traces,
+ * with their spans. {@code /actuator/traces/recent} lists the newest first,
+ * and {@code DELETE /actuator/traces} forgets them all.
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final TraceStore store;
+
+    public TracesEndpoint(TraceStore store) {
+        this.store = store;
+    }
+
+    @ReadOperation
+    public List<TraceRecord> traces(@Selector String view, @Nullable Integer limit) {
+        int max = limit == null ? DEFAULT_LIMIT : limit;
+        return switch (view) {
+            case "slow" -> store.slowest(max);
+            case "recent" -> store.recent(max);
+            default -> null;
+        };
+    }
+
+    @DeleteOperation
+    public void clear() {
+        store.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.storeapplication.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a {@code store.span} observation around controller, service and
+ * repository methods called within a sampled trace. Runs outside the
+ * transaction advice so a service span includes the commit.
+ */
+@Aspect
+public class TracingAspect implements Ordered {
+
+    static final String SPAN = "store.span";
+
+    private static final String REPOSITORY_PACKAGE = "com.example.storeapplication.repository";
+
+    private final ObservationRegistry registry;
+
+    private final LocalTracer tracer;
+
+    private final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+
+    public TracingAspect(ObservationRegistry registry, LocalTracer tracer) {
+        this.registry = registry;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Around("within(com.example.storeapplication.controller..*) && execution(public * *(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller", joinPoint.getTarget().getClass());
+    }
+
+    @Around("within(com.example.storeapplication.service..*) && execution(public * *(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", joinPoint.getTarget().getClass());
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository", joinPoint.getThis().getClass());
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, Class<?> type) throws Throwable {
+        Observation parent = registry.getCurrentObservation();
+        if (!tracer.isSampled(parent)) {
+            return joinPoint.proceed();
+        }
+        Observation observation = Observation.createNotStarted(SPAN, registry)
+                .contextualName(typeName(type) + "." + joinPoint.getSignature().getName())
+                .lowCardinalityKeyValue(LocalTracer.LAYER, layer)
+                .parentObservation(parent)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private String typeName(Class<?> type) {
+        return typeNames.computeIfAbsent(type, candidate -> {
+            // Repository proxies are named $ProxyNN; report the interface instead
+            for (Class<?> face : ClassUtils.getAllInterfacesForClassAsSet(candidate)) {
+                if (face.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                    return face.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(candidate).getSimpleName();
+        });
+    }
+}
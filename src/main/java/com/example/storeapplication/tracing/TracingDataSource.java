@@ -0,0 +1,142 @@
+package com.example.storeapplication.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Times every statement executed on a connection obtained within a sampled
+ * trace as a {@code store.sql} span named after the SQL. Connections obtained
+ * outside a sampled trace are returned unwrapped, so unsampled requests only
+ * pay for the sampling check.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    static final String SQL_SPAN = "store.sql";
+
+    private final Supplier<ObservationRegistry> registry;
+
+    private final Supplier<LocalTracer> tracer;
+
+    private final int maxSqlLength;
+
+    /**
+     * The registry and tracer are looked up on first use, because the data
+     * source is created before observation is configured.
+     */
+    public TracingDataSource(DataSource target, Supplier<ObservationRegistry> registry, Supplier<LocalTracer> tracer,
+                             int maxSqlLength) {
+        super(target);
+        this.registry = SingletonSupplier.of(registry);
+        this.tracer = SingletonSupplier.of(tracer);
+        this.maxSqlLength = maxSqlLength;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        if (!tracer.get().isSampled(registry.get().getCurrentObservation())) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement statement && name.equals("prepareCall")) {
+                return proxy(CallableStatement.class, statement, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement && name.equals("prepareStatement")) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement && name.equals("createStatement")) {
+                return proxy(Statement.class, statement, new StatementHandler(statement, null));
+            }
+            return result;
+        });
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        private final String preparedSql;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return TracingDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            Observation parent = registry.get().getCurrentObservation();
+            if (sql == null || !tracer.get().isSampled(parent)) {
+                return TracingDataSource.invoke(target, method, args);
+            }
+            Observation observation = Observation.createNotStarted(SQL_SPAN, registry.get())
+                    .contextualName(truncate(sql))
+                    .lowCardinalityKeyValue(LocalTracer.LAYER, "sql")
+                    .parentObservation(parent)
+                    .start();
+            try {
+                return TracingDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+            }
+        }
+    }
+
+    private String truncate(String sql) {
+        String collapsed = sql.strip().replaceAll("\\s+", " ");
+        if (collapsed.length() <= maxSqlLength) {
+            return collapsed;
+        }
+        // Hibernate's column lists push the table out of view; keep the verb and everything from FROM on
+        int from = collapsed.toLowerCase(Locale.ROOT).indexOf(" from ");
+        int verb = collapsed.indexOf(' ');
+        if (from > verb && verb > 0) {
+            collapsed = collapsed.substring(0, verb) + " ..." + collapsed.substring(from);
+        }
+        return collapsed.length() <= maxSqlLength ? collapsed : collapsed.substring(0, maxSqlLength) + "...";
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.storeapplication.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. Callers
+ * arriving while a call is in flight wait for it and share its result; a
+ * successful result keeps being handed out for a short grace period after it
+ * completes. Failures are shared with the callers already waiting but never
+ * kept beyond that.
+ */
+public class SingleFlight<K, V> {
+
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final Map<K, Call<V>> calls = new ConcurrentHashMap<>();
+
+    private final long graceNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final LongAdder executed = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder graceHits = new LongAdder();
+
+    public SingleFlight(long graceNanos, LongSupplier nanoClock) {
+        this.graceNanos = graceNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        while (true) {
+            Call<V> call = calls.get(key);
+            if (call != null) {
+                if (!call.future.isDone()) {
+                    coalesced.increment();
+                    return join(call);
+                }
+                if (nanoClock.getAsLong() - call.completedAt < graceNanos) {
+                    graceHits.increment();
+                    return join(call);
+                }
+                calls.remove(key, call);
+            }
+
+            Call<V> mine = new Call<>();
+            if (calls.putIfAbsent(key, mine) != null) {
+                continue;
+            }
+            if (calls.size() > PURGE_THRESHOLD) {
+                purgeExpired();
+            }
+            return run(key, mine, loader);
+        }
+    }
+
+    /**
+     * Forgets every call, so the next caller for any key executes again.
+     */
+    public void clear() {
+        calls.clear();
+    }
+
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long graceHitCount() {
+        return graceHits.sum();
+    }
+
+    private V run(K key, Call<V> call, Supplier<V> loader) {
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.completedAt = nanoClock.getAsLong();
+            call.future.complete(value);
+            if (graceNanos <= 0) {
+                calls.remove(key, call);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            calls.remove(key, call);
+            call.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        calls.values().removeIf(call -> call.future.isDone() && now - call.completedAt >= graceNanos);
+    }
+
+    private static <V> V join(Call<V> call) {
+        try {
+            return call.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Call<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        // Written before the future completes, so readers that saw it done see the time
+        private volatile long completedAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.storeapplication.web;
+
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.event.CatalogChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UTF-8 JSON of each {@link ProductResponse}, keyed by product id.
+ * <p>
+ * Every entry keeps the response it was rendered from and is only served
+ * when the current response is equal to it, so a stock or price change is a
+ * miss even if nobody told the cache. {@link CatalogChangedEvent}s drop the
+ * affected entries early to keep stale bytes from piling up.
+ * <p>
+ * Past {@link #MAX_ENTRIES} one entry is evicted per insert with the clock
+ * algorithm: a hit marks its entry, and the eviction hand sweeps the map,
+ * unmarking marked entries and removing the first one that was not served
+ * since the hand last passed. Hits never take a lock.
+ */
+@Component
+public class ProductJsonCache {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ObjectWriter writer;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private Iterator<Entry> clockHand;
+
+    public ProductJsonCache(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(ProductResponse.class);
+    }
+
+    /**
+     * @param product
+     * @return the JSON of the product, from the cache when it is still current
+     */
+    public byte[] toJson(ProductResponse product) throws JsonProcessingException {
+        if (product.getId() == null) {
+            return writer.writeValueAsBytes(product);
+        }
+
+        Entry entry = entries.get(product.getId());
+        if (entry != null && entry.snapshot.equals(product)) {
+            entry.markServed();
+            return entry.json;
+        }
+
+        byte[] json = writer.writeValueAsBytes(product);
+        entries.put(product.getId(), new Entry(snapshot(product), json));
+        if (entries.size() > MAX_ENTRIES) {
+            evict();
+        }
+        return json;
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        event.getProductIds().forEach(entries::remove);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        evictionLock.lock();
+        try {
+            while (entries.size() > MAX_ENTRIES) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = entries.values().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+                Entry candidate = clockHand.next();
+                if (candidate.served) {
+                    candidate.served = false;
+                } else {
+                    clockHand.remove();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static ProductResponse snapshot(ProductResponse product) {
+        return new ProductResponse(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getCategory(),
+                product.getStock(),
+                product.isAvailable(),
+                product.getCreatedAt()
+        );
+    }
+
+    private static final class Entry {
+        private final ProductResponse snapshot;
+        private final byte[] json;
+        private volatile boolean served;
+
+        private Entry(ProductResponse snapshot, byte[] json) {
+            this.snapshot = snapshot;
+            this.json = json;
+        }
+
+        private void markServed() {
+            // Skip the write when already marked so hot entries do not bounce between cores
+            if (!served) {
+                served = true;
+            }
+        }
+    }
+}
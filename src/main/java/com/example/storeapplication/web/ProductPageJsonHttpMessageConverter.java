@@ -0,0 +1,116 @@
+package com.example.storeapplication.web;
+
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes {@code PageResponse<ProductResponse>} by rendering the envelope with
+ * an empty content array and splicing the cached product fragments from
+ * {@link ProductJsonCache} into it, straight onto the response stream. The
+ * bytes are identical to what Jackson would write for the whole page.
+ * <p>
+ * Registered ahead of the Jackson converter; any other body type, or a mapper
+ * configured to indent, falls through to Jackson.
+ */
+public class ProductPageJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<PageResponse<ProductResponse>> {
+
+    private static final byte[] CONTENT_MARKER = "\"content\":[]".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+
+    private final ProductJsonCache cache;
+
+    public ProductPageJsonHttpMessageConverter(ObjectMapper objectMapper, ProductJsonCache cache) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return isProductPage(type)
+                && !objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // Only generic-aware writes are supported, see canWrite(Type, Class, MediaType)
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(PageResponse<ProductResponse> page, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        OutputStream body = outputMessage.getBody();
+        List<ProductResponse> content = page.getContent();
+        if (content == null) {
+            objectMapper.writeValue(body, page);
+            return;
+        }
+
+        byte[] envelope = objectMapper.writeValueAsBytes(new PageResponse<>(List.of(), page.getPage(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), page.isFirst(), page.isLast()));
+        int splice = indexOf(envelope, CONTENT_MARKER) + CONTENT_MARKER.length - 1;
+
+        body.write(envelope, 0, splice);
+        for (int i = 0; i < content.size(); i++) {
+            if (i > 0) {
+                body.write(',');
+            }
+            body.write(cache.toJson(content.get(i)));
+        }
+        body.write(envelope, splice, envelope.length - splice);
+        body.flush();
+    }
+
+    @Override
+    protected PageResponse<ProductResponse> readInternal(Class<? extends PageResponse<ProductResponse>> clazz,
+                                                         HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    public PageResponse<ProductResponse> read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    private static boolean isProductPage(@Nullable Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() == PageResponse.class
+                && parameterized.getActualTypeArguments()[0] == ProductResponse.class;
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = 0; i <= source.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("PageResponse JSON has no empty content array");
+    }
+}
@@ -0,0 +1,19 @@
+-- Moves the id columns of existing deployments from IDENTITY to the pooled
+-- sequences the entities now use. Existing ids are kept; each sequence starts
+-- one allocation block (50) above the current maximum so the first pool handed
+-- out by Hibernate can never collide with a row written under IDENTITY.
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+            ('products', 'products_seq'),
+            ('deals', 'deals_seq'),
+            ('baskets', 'baskets_seq'),
+            ('basket_items', 'basket_items_seq')) AS v(tbl, seq)
+    LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t.tbl);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t.seq);
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 50 FROM %I))', t.seq, t.tbl);
+    END LOOP;
+END $$;
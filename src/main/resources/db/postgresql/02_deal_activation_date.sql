@@ -0,0 +1,3 @@
+-- Deals can be scheduled to start in the future. Existing rows keep a NULL
+-- activation date, so the lifecycle scheduler leaves their active flag as it is.
+ALTER TABLE deals ADD COLUMN IF NOT EXISTS activation_date TIMESTAMP(6);
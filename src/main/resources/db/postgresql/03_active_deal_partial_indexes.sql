@@ -0,0 +1,10 @@
+-- Active-deal lookups only ever want live rows. Partial indexes keep the
+-- expired and removed history out of the index entirely, so their size tracks
+-- the number of live promotions rather than the age of the table.
+-- The composite indexes declared on Deal stay: Hibernate creates them for new
+-- databases and H2, which has no partial indexes, relies on them.
+CREATE INDEX IF NOT EXISTS idx_deals_live_by_product
+    ON deals (product_id, expiration_date) WHERE active;
+
+CREATE INDEX IF NOT EXISTS idx_deals_live
+    ON deals (expiration_date) WHERE active;
@@ -0,0 +1,20 @@
+-- Cold storage for deals that are no longer live. Rows keep their id from
+-- deals and carry the product name, so there is no foreign key back to the
+-- catalog and archived deals outlive removed products.
+CREATE TABLE IF NOT EXISTS deals_archive (
+    id                  BIGINT         PRIMARY KEY,
+    product_id          BIGINT         NOT NULL,
+    product_name        VARCHAR(255),
+    description         VARCHAR(255)   NOT NULL,
+    buy_quantity        INTEGER        NOT NULL,
+    discount_percentage NUMERIC(5, 2),
+    discount_amount     NUMERIC(10, 2),
+    get_quantity        INTEGER,
+    activation_date     TIMESTAMP(6),
+    expiration_date     TIMESTAMP(6),
+    created_at          TIMESTAMP(6)   NOT NULL,
+    archived_at         TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_deals_archive_product_archived
+    ON deals_archive (product_id, archived_at);
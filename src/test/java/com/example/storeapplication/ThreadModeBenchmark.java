@@ -0,0 +1,121 @@
+package com.example.storeapplication;
+
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.repository.ProductRepository;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput of the customer API with Tomcat on platform threads versus
+ * virtual threads, at more concurrent clients than Tomcat's 200 worker
+ * threads. Not part of the regular build; needs a Java 21 runtime:
+ * <pre>
+ * mvn test -Pjava21 -Dtest=ThreadModeBenchmark -Dcheckstyle.skip
+ * </pre>
+ */
+class ThreadModeBenchmark {
+
+    private static final int CLIENTS = 400;
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+            "platform, add",
+            "virtual, add",
+            "platform, listing",
+            "virtual, listing"
+    })
+    void customerApi(String threads, String endpoint) throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StoreapplicationApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                        "store.rate-limit.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run()) {
+
+            Product product = context.getBean(ProductRepository.class)
+                    .save(new Product("Benchmark", "Benchmark product", BigDecimal.TEN, Category.ELECTRONICS, Integer.MAX_VALUE));
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = endpoint.equals("add") ?
+                    HttpRequest.newBuilder(URI.create(base + "/customer/basket/add"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"productId\":" + product.getId() + ",\"quantity\":1}"))
+                            .build() :
+                    HttpRequest.newBuilder(URI.create(base + "/customer/products?category=ELECTRONICS"
+                            + "&minPrice=0&maxPrice=100&available=true")).GET().build();
+
+            run(request, WARMUP);
+            Result result = run(request, MEASUREMENT);
+
+            System.out.printf("threads=%-8s endpoint=%-7s clients=%d requests=%d errors=%d throughput=%.1f req/s%n",
+                    threads, endpoint, CLIENTS, result.requests(), result.errors(),
+                    result.requests() / (MEASUREMENT.toMillis() / 1000.0));
+            assertEquals(0, result.errors());
+        }
+    }
+
+    private Result run(HttpRequest request, Duration duration) throws Exception {
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+                    while (System.nanoTime() < deadline) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        requests.increment();
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(requests.sum(), errors.sum());
+    }
+
+    private record Result(long requests, long errors) {
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.storeapplication.controller;
 
-import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.dto.DealArchiveResponse;
+import com.example.storeapplication.dto.DealBulkCreateRequest;
+import com.example.storeapplication.dto.DealBulkCreateResponse;
+import com.example.storeapplication.dto.CursorPageResponse;
 import com.example.storeapplication.dto.DealCreateRequest;
+import com.example.storeapplication.dto.DealResponse;
 import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductBulkUpdateRequest;
+import com.example.storeapplication.dto.ProductBulkUpdateResponse;
 import com.example.storeapplication.dto.ProductCreateRequest;
 import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.exception.GlobalExceptionHandler;
 import com.example.storeapplication.service.AdminService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,6 +33,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -98,6 +108,38 @@ class AdminControllerTest {
         verify(adminService).removeProduct(eq(productId));
     }
 
+    @Test
+    void testBulkUpdateProducts() throws Exception {
+        // Arrange
+        ProductBulkUpdateRequest request = new ProductBulkUpdateRequest(List.of(
+                new ProductBulkUpdateRequest.ProductAdjustment(1L, BigDecimal.valueOf(2.5), 10),
+                new ProductBulkUpdateRequest.ProductAdjustment(2L, null, -3)
+        ), true);
+
+        when(adminService.bulkUpdateProducts(any(ProductBulkUpdateRequest.class)))
+                .thenReturn(new ProductBulkUpdateResponse(2, 2, 0, 1, 1));
+
+        // Act & Assert
+        mockMvc.perform(patch("/admin/products/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.repricedBasketItems").value(1))
+                .andExpect(jsonPath("$.chunks").value(1));
+
+        verify(adminService).bulkUpdateProducts(any(ProductBulkUpdateRequest.class));
+    }
+
+    @Test
+    void testBulkUpdateProducts_WithoutAdjustments() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/admin/products/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"adjustments\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetAllProducts() throws Exception {
         // Arrange
@@ -176,14 +218,67 @@ class AdminControllerTest {
         verify(adminService).createDeal(any(DealCreateRequest.class));
     }
 
+    @Test
+    void testCreateDeals() throws Exception {
+        // Arrange
+        DealBulkCreateRequest request = new DealBulkCreateRequest(List.of(
+                DealCreateRequest.builder()
+                        .productId(1L)
+                        .description("Midnight 20% Off")
+                        .buyQuantity(1)
+                        .discountPercentage(BigDecimal.valueOf(20))
+                        .activationDate(LocalDateTime.now().plusHours(3))
+                        .expirationDate(LocalDateTime.now().plusDays(1))
+                        .build()
+        ));
+
+        when(adminService.createDeals(any(DealBulkCreateRequest.class)))
+                .thenReturn(new DealBulkCreateResponse(1, 1, List.of(7L)));
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/deals/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.scheduled").value(1))
+                .andExpect(jsonPath("$.dealIds[0]").value(7));
+
+        verify(adminService).createDeals(any(DealBulkCreateRequest.class));
+    }
+
+    @Test
+    void testCreateDeals_WithActivationAfterExpiration() throws Exception {
+        // Arrange
+        DealBulkCreateRequest request = new DealBulkCreateRequest(List.of(
+                DealCreateRequest.builder()
+                        .productId(1L)
+                        .description("Backwards")
+                        .buyQuantity(1)
+                        .discountPercentage(BigDecimal.TEN)
+                        .activationDate(LocalDateTime.now().plusDays(2))
+                        .expirationDate(LocalDateTime.now().plusDays(1))
+                        .build()
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/admin/deals/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetAllDeals() throws Exception {
         // Arrange
-        Deal deal = new Deal();
-        deal.setId(1L);
-        deal.setDescription("Summer Sale");
+        DealResponse deal = DealResponse.builder()
+                .id(1L)
+                .productId(3L)
+                .productName("Laptop")
+                .description("Summer Sale")
+                .build();
 
-        PageResponse<Deal> mockPage = new PageResponse<>(
+        PageResponse<DealResponse> mockPage = new PageResponse<>(
                 List.of(deal),
                 1, 0, 10, 1
         );
@@ -198,11 +293,75 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content[0].id").value(1))
                 .andExpect(jsonPath("$.content[0].description").value("Summer Sale"))
+                .andExpect(jsonPath("$.content[0].productId").value(3))
+                .andExpect(jsonPath("$.content[0].productName").value("Laptop"))
                 .andExpect(jsonPath("$.totalElements").value(10));
 
         verify(adminService).getAllDeals(0, 10);
     }
 
+    @Test
+    void testGetDealsByCursor() throws Exception {
+        // Arrange
+        DealResponse deal = DealResponse.builder().id(41L).productId(3L).productName("Laptop").build();
+        when(adminService.getDeals(42L, 1))
+                .thenReturn(new CursorPageResponse<>(List.of(deal), 1, 41L, true));
+
+        // Act & Assert
+        mockMvc.perform(get("/admin/deals/keyset")
+                        .param("cursor", "42")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(41))
+                .andExpect(jsonPath("$.nextCursor").value(41))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(adminService).getDeals(42L, 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "101"})
+    void testGetDealsByCursor_WithSizeOutOfRange_ShouldReturnBadRequest(String size) throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(adminController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(get("/admin/deals/keyset")
+                        .param("size", size))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verifyNoInteractions(adminService);
+    }
+
+    @Test
+    void testGetArchivedDeals() throws Exception {
+        // Arrange
+        DealArchiveResponse archived = DealArchiveResponse.builder()
+                .id(5L)
+                .productId(1L)
+                .productName("Laptop")
+                .description("Black Friday")
+                .buyQuantity(1)
+                .archivedAt(LocalDateTime.now())
+                .build();
+
+        when(adminService.getArchivedDeals(1L, 0, 10))
+                .thenReturn(new PageResponse<>(List.of(archived), 0, 10, 1, 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/admin/deals/archive")
+                        .param("productId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(5))
+                .andExpect(jsonPath("$.content[0].productName").value("Laptop"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        verify(adminService).getArchivedDeals(1L, 0, 10);
+    }
+
     @Test
     void testRemoveDeal() throws Exception {
         // Arrange
@@ -0,0 +1,223 @@
+package com.example.storeapplication.controller;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.repository.DealRepository;
+import com.example.storeapplication.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bytes allocated by the request thread for one call to each customer and
+ * admin endpoint, at fixed data sizes, against the budgets in
+ * {@code allocation-budgets.properties}. MockMvc serves the request on the
+ * test thread, so the per-thread allocation counter covers filters, the
+ * controller, JPA and JSON serialisation; work handed to other threads is
+ * not counted. A budget failing here means a change made an endpoint
+ * allocate noticeably more; raise it only deliberately, using the measured
+ * figure from the failure message.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:allocationbudget",
+        "spring.jpa.show-sql=false",
+        "store.rate-limit.enabled=false",
+        "store.tracing.enabled=false",
+        "store.catalog.coalescing.grace=0ms",
+        "logging.level.org.springframework.web=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AllocationBudgetTest {
+
+    private static final int PRODUCTS = 50;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int BASKET_LINES = 5;
+
+    private static final int WARMUP = 50;
+
+    private static final int MEASUREMENTS = 21;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    private final List<Product> products = new ArrayList<>();
+
+    private final MockHttpSession session = new MockHttpSession();
+
+    private Properties budgets;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Per-thread allocation counters are not available");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        budgets = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/allocation-budgets.properties")) {
+            if (in == null) {
+                throw new IOException("allocation-budgets.properties not found");
+            }
+            budgets.load(in);
+        }
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = productRepository.save(new Product("Allocation product " + i, "Description",
+                    new BigDecimal(10 + i + ".99"), Category.ELECTRONICS, 1_000_000));
+            dealRepository.save(deal(product));
+            products.add(product);
+        }
+        for (int i = 0; i < BASKET_LINES; i++) {
+            mockMvc.perform(basketRequest("/customer/basket/add", products.get(i))).andExpect(status().isOk());
+        }
+    }
+
+    // Every listing runs before the first endpoint that adds or changes rows, so they all see the data from setUp
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "customer.products",
+            "customer.basket.receipt",
+            "admin.products.list",
+            "admin.deals.list",
+            "admin.deals.keyset",
+            "admin.deals.archive",
+            "customer.basket.add",
+            "customer.basket.remove",
+            "admin.products.create",
+            "admin.products.delete",
+            "admin.products.bulk",
+            "admin.deals.create",
+            "admin.deals.bulk",
+            "admin.deals.delete"
+    })
+    void endpoint_ShouldStayWithinAllocationBudget(String endpoint) throws Exception {
+        // Arrange
+        String configured = budgets.getProperty(endpoint);
+        assertNotNull(configured, "No budget for " + endpoint + " in allocation-budgets.properties");
+        long budget = Long.parseLong(configured.trim());
+        for (int i = 0; i < WARMUP; i++) {
+            measure(endpoint, i);
+        }
+
+        // Act
+        long[] samples = new long[MEASUREMENTS];
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            samples[i] = measure(endpoint, WARMUP + i);
+        }
+        Arrays.sort(samples);
+        long median = samples[MEASUREMENTS / 2];
+
+        // Assert
+        assertTrue(median <= budget, () -> String.format(
+                "%s allocated %,d bytes per request (min %,d, max %,d), over its budget of %,d",
+                endpoint, median, samples[0], samples[MEASUREMENTS - 1], budget));
+    }
+
+    /**
+     * Builds the request and any state it needs, then counts only the bytes
+     * allocated while it is served.
+     */
+    private long measure(String endpoint, int iteration) throws Exception {
+        RequestBuilder request = request(endpoint, iteration);
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(200, status / 100 * 100, () -> endpoint + " returned " + status);
+        return allocated;
+    }
+
+    private RequestBuilder request(String endpoint, int iteration) throws Exception {
+        Product product = products.get(iteration % BASKET_LINES);
+        return switch (endpoint) {
+            case "customer.products" -> get("/customer/products").param("category", "ELECTRONICS")
+                    .param("minPrice", "0").param("maxPrice", "1000").param("available", "true")
+                    .param("size", String.valueOf(PAGE_SIZE));
+            case "customer.basket.add" -> basketRequest("/customer/basket/add", product);
+            case "customer.basket.remove" -> {
+                mockMvc.perform(basketRequest("/customer/basket/add", product)).andExpect(status().isOk());
+                yield basketRequest("/customer/basket/remove", product);
+            }
+            case "customer.basket.receipt" -> get("/customer/basket/receipt").session(session);
+            case "admin.products.create" -> json(post("/admin/products"), "{\"name\":\"Created " + iteration
+                    + "\",\"description\":\"Description\",\"price\":19.99,\"category\":\"AUDIO\",\"stock\":10}");
+            case "admin.products.delete" -> delete("/admin/products/" + productRepository.save(
+                    new Product("Deleted " + iteration, "Description", BigDecimal.TEN, Category.AUDIO, 1)).getId());
+            case "admin.products.bulk" -> json(patch("/admin/products/bulk"), "{\"adjustments\":["
+                    + IntStream.range(0, BASKET_LINES)
+                    .mapToObj(i -> "{\"productId\":" + products.get(i).getId() + ",\"stockDelta\":"
+                            + (iteration % 2 == 0 ? 1 : -1) + "}")
+                    .collect(Collectors.joining(",")) + "]}");
+            case "admin.products.list" -> get("/admin/products").param("size", String.valueOf(PAGE_SIZE));
+            case "admin.deals.create" -> json(post("/admin/deals"), dealJson(products.get(PRODUCTS - 1)));
+            case "admin.deals.bulk" -> json(post("/admin/deals/bulk"), "{\"deals\":["
+                    + IntStream.range(0, BASKET_LINES).mapToObj(i -> dealJson(products.get(PRODUCTS - 1 - i)))
+                    .collect(Collectors.joining(",")) + "]}");
+            case "admin.deals.list" -> get("/admin/deals").param("size", String.valueOf(PAGE_SIZE));
+            case "admin.deals.keyset" -> get("/admin/deals/keyset").param("size", String.valueOf(PAGE_SIZE));
+            case "admin.deals.archive" -> get("/admin/deals/archive").param("size", String.valueOf(PAGE_SIZE));
+            case "admin.deals.delete" -> delete("/admin/deals/" + dealRepository.save(deal(product)).getId());
+            default -> throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+        };
+    }
+
+    private RequestBuilder basketRequest(String path, Product product) {
+        return json(post(path).session(session), "{\"productId\":" + product.getId() + ",\"quantity\":1}");
+    }
+
+    private static RequestBuilder json(MockHttpServletRequestBuilder builder, String body) {
+        return builder.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static String dealJson(Product product) {
+        return "{\"productId\":" + product.getId() + ",\"description\":\"10% off\",\"buyQuantity\":1,"
+                + "\"discountPercentage\":10,\"expirationDate\":\"2099-01-01T00:00:00\"}";
+    }
+
+    private static Deal deal(Product product) {
+        return Deal.builder()
+                .product(product)
+                .description("10% off")
+                .buyQuantity(1)
+                .discountPercentage(BigDecimal.TEN)
+                .expirationDate(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+}
@@ -3,12 +3,15 @@ package com.example.storeapplication.controller;
 import com.example.storeapplication.dto.*;
 import com.example.storeapplication.enums.Category;
 import com.example.storeapplication.service.CustomerService;
+import com.example.storeapplication.session.BasketIdResolver;
+import com.example.storeapplication.session.HttpSessionBasketIdResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpSession;
@@ -35,6 +38,9 @@ class CustomerControllerTest {
     @Mock
     private CustomerService customerService;
 
+    @Spy
+    private BasketIdResolver basketIdResolver = new HttpSessionBasketIdResolver();
+
     @InjectMocks
     private CustomerController customerController;
 
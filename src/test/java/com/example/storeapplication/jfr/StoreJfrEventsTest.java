@@ -0,0 +1,269 @@
+package com.example.storeapplication.jfr;
+
+import com.example.storeapplication.domain.Basket;
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.exception.InsufficientStockException;
+import com.example.storeapplication.lock.InstrumentedLock;
+import com.example.storeapplication.repository.BasketRepository;
+import com.example.storeapplication.repository.DealRepository;
+import com.example.storeapplication.repository.ProductRepository;
+import com.example.storeapplication.service.ReceiptCalculationService;
+import com.example.storeapplication.service.impl.CustomerServiceImpl;
+import com.example.storeapplication.service.impl.ReceiptCalculationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StoreJfrEventsTest {
+
+    private static final String SESSION_ID = "jfr-session";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private BasketRepository basketRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private ReceiptCalculationService receiptCalculationService;
+
+    private CustomerServiceImpl customerService;
+
+    private Product product;
+
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(productRepository);
+        proxyFactory.setInterfaces(ProductRepository.class);
+        proxyFactory.addAspect(new RepositoryEventAspect());
+        ProductRepository observedProducts = proxyFactory.getProxy();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        customerService = new CustomerServiceImpl(basketRepository, observedProducts,
+                new InstrumentedLock("stock", "store.stock.lock", meterRegistry), receiptCalculationService, meterRegistry);
+
+        product = new Product("Recorded product", "Description", new BigDecimal("10.00"), Category.ELECTRONICS, 5);
+        product.setId(7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Test
+    void addToBasket_RecordingEnabled_ShouldEmitBasketAndRepositoryEvents() throws Exception {
+        // Arrange
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+        when(basketRepository.findBySessionId(SESSION_ID)).thenReturn(Optional.empty());
+        startRecording();
+
+        // Act
+        customerService.addToBasket(SESSION_ID, new BasketItemRequest(7L, 2));
+
+        // Assert
+        List<RecordedEvent> events = stop();
+        RecordedEvent basket = single(events, "store.BasketOperation");
+        assertEquals("add", basket.getString("operation"));
+        assertEquals(SESSION_ID.hashCode(), basket.getInt("sessionHash"));
+        assertEquals(7L, basket.getLong("productId"));
+        assertEquals(2, basket.getInt("quantity"));
+        assertEquals(1, basket.getInt("itemCount"));
+        assertEquals("success", basket.getString("outcome"));
+
+        RecordedEvent findById = events.stream()
+                .filter(event -> event.getEventType().getName().equals("store.RepositoryCall"))
+                .filter(event -> event.getString("method").equals("findById"))
+                .findFirst().orElseThrow();
+        assertEquals("ProductRepository", findById.getString("repository"));
+        assertEquals(SESSION_ID.hashCode(), findById.getInt("sessionHash"));
+        assertEquals(7L, findById.getLong("productId"));
+        assertEquals(1, findById.getInt("itemCount"));
+    }
+
+    @Test
+    void addToBasket_InsufficientStock_ShouldRecordOutcome() throws Exception {
+        // Arrange
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+        startRecording();
+
+        // Act
+        assertThrows(InsufficientStockException.class,
+                () -> customerService.addToBasket(SESSION_ID, new BasketItemRequest(7L, 50)));
+
+        // Assert
+        RecordedEvent basket = single(stop(), "store.BasketOperation");
+        assertEquals("insufficient_stock", basket.getString("outcome"));
+        assertEquals(0, basket.getInt("itemCount"));
+    }
+
+    @Test
+    void calculateReceipt_RecordingEnabled_ShouldEmitReceiptEvent() throws Exception {
+        // Arrange
+        Basket basket = new Basket(SESSION_ID);
+        basket.addItem(product, 2);
+        Deal deal = Deal.builder()
+                .product(product)
+                .description("10% off")
+                .buyQuantity(1)
+                .discountPercentage(BigDecimal.TEN)
+                .expirationDate(LocalDateTime.now().plusDays(1))
+                .build();
+        when(dealRepository.findActiveDealsForProduct(anyLong(), any(LocalDateTime.class))).thenReturn(List.of(deal));
+        ReceiptCalculationServiceImpl receiptService = new ReceiptCalculationServiceImpl(dealRepository, new SimpleMeterRegistry());
+        startRecording();
+
+        // Act
+        receiptService.calculateReceipt(basket);
+
+        // Assert
+        RecordedEvent receipt = single(stop(), "store.ReceiptCalculation");
+        assertEquals(SESSION_ID.hashCode(), receipt.getInt("sessionHash"));
+        assertEquals(1, receipt.getInt("itemCount"));
+        assertEquals(1, receipt.getInt("dealsEvaluated"));
+        assertEquals("discounted", receipt.getString("outcome"));
+    }
+
+    @Test
+    void storeJfc_ShouldParseAndEnableStoreEvents() throws Exception {
+        // Act
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/store.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+
+        // Assert
+        Map<String, String> settings = configuration.getSettings();
+        assertEquals("true", settings.get("store.BasketOperation#enabled"));
+        assertEquals("true", settings.get("store.ReceiptCalculation#enabled"));
+        assertEquals("true", settings.get("store.RepositoryCall#enabled"));
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+    }
+
+    @Test
+    void basketOperationEvent_NoRecording_ShouldCostNoMoreThanPlainObject() {
+        // Arrange
+        int iterations = 1_000_000;
+
+        // Act
+        double event = Double.MAX_VALUE;
+        double plain = Double.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            event = Math.min(event, nanosPerDisabledEvent(iterations));
+            plain = Math.min(plain, nanosPerPlainObject(iterations));
+        }
+
+        // Assert
+        double eventNanos = event;
+        double plainNanos = plain;
+        assertFalse(new BasketOperationEvent("add", SESSION_ID, 1L, 1).isEnabled());
+        // Relative bound because coverage and mocking agents slow the whole JVM down; a warm JVM
+        // without them takes a few nanoseconds for either loop
+        assertTrue(eventNanos < 4 * plainNanos + 20,
+                () -> "Disabled event cost " + eventNanos + " ns, plain object " + plainNanos + " ns");
+    }
+
+    private static double nanosPerDisabledEvent(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            BasketOperationEvent event = new BasketOperationEvent("add", SESSION_ID, (long) i, 1);
+            event.start();
+            event.setItemCount(i);
+            event.finish("success");
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    private static double nanosPerPlainObject(int iterations) {
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            PlainOperation operation = new PlainOperation("add", SESSION_ID, (long) i, 1);
+            operation.itemCount = i;
+            operation.outcome = "success";
+            sink += operation.sessionHash;
+        }
+        double nanos = (System.nanoTime() - start) / (double) iterations;
+        return sink == 42 ? nanos + 1 : nanos;
+    }
+
+    private void startRecording() {
+        recording = new Recording();
+        recording.enable(BasketOperationEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(ReceiptCalculationEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(RepositoryCallEvent.class).withThreshold(Duration.ZERO);
+        recording.start();
+    }
+
+    private List<RecordedEvent> stop() throws Exception {
+        recording.stop();
+        Path file = tempDir.resolve("store.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), () -> "Expected one " + name + " in " + events);
+        return matching.get(0);
+    }
+
+    private static final class PlainOperation {
+        private final String operation;
+        private final int sessionHash;
+        private final long productId;
+        private final int quantity;
+        private int itemCount;
+        private String outcome;
+
+        private PlainOperation(String operation, String sessionId, Long productId, int quantity) {
+            this.operation = operation;
+            this.sessionHash = sessionId.hashCode();
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.storeapplication.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Uncontended lock/unlock cost of {@link InstrumentedLock} against a bare
+ * {@link ReentrantLock}, to check the instrumentation can stay on. Not part of
+ * the regular build; run it with
+ * <pre>
+ * mvn test -Dtest=InstrumentedLockBenchmark -Dcheckstyle.skip
+ * </pre>
+ */
+class InstrumentedLockBenchmark {
+
+    private static final int ITERATIONS = 5_000_000;
+
+    @Test
+    void compareWithPlainLock() {
+        ReentrantLock plain = new ReentrantLock();
+        InstrumentedLock instrumented = new InstrumentedLock("stock", "store.stock.lock", new SimpleMeterRegistry());
+        Object context = "add basket=benchmark product=1";
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                plain.lock();
+                plain.unlock();
+            }
+            double plainNanos = (System.nanoTime() - start) / (double) ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                instrumented.lock(context);
+                instrumented.unlock();
+            }
+            double instrumentedNanos = (System.nanoTime() - start) / (double) ITERATIONS;
+
+            System.out.printf("round %d: ReentrantLock %.1f ns, InstrumentedLock %.1f ns per lock/unlock%n",
+                    round, plainNanos, instrumentedNanos);
+        }
+    }
+}
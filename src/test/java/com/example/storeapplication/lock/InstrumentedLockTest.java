@@ -0,0 +1,133 @@
+package com.example.storeapplication.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedLockTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000);
+
+    private MeterRegistry meterRegistry;
+
+    private InstrumentedLock lock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lock = new InstrumentedLock("stock", "store.stock.lock", meterRegistry, nanos::get,
+                Clock.fixed(Instant.parse("2024-05-01T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void unlock_ShouldRecordHoldTimeAndHolderContext() {
+        // Arrange
+        lock.lock("add basket=abc product=1");
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+
+        // Act
+        LockSnapshot whileHeld = lock.snapshot();
+        lock.unlock();
+        LockSnapshot afterRelease = lock.snapshot();
+
+        // Assert
+        assertTrue(whileHeld.locked());
+        assertEquals("add basket=abc product=1", whileHeld.currentHolder().context());
+        assertEquals(40.0, whileHeld.currentHolder().heldMs());
+        assertNull(afterRelease.currentHolder());
+        assertEquals(1, meterRegistry.get("store.stock.lock.hold").timer().count());
+        assertEquals(40.0, meterRegistry.get("store.stock.lock.hold").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertTrue(afterRelease.holdMs().p99() >= 40.0);
+        assertEquals(1, afterRelease.longestHolds().size());
+        assertEquals(Instant.parse("2024-05-01T12:00:00Z"), afterRelease.longestHolds().get(0).releasedAt());
+    }
+
+    @Test
+    void lock_Reentered_ShouldRecordOneHoldForTheOutermostAcquisition() {
+        // Arrange
+        lock.lock("outer");
+        lock.lock("inner");
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+
+        // Act
+        lock.unlock();
+        boolean stillHeld = lock.snapshot().locked();
+        lock.unlock();
+
+        // Assert
+        assertTrue(stillHeld);
+        assertEquals(1, meterRegistry.get("store.stock.lock.wait").timer().count());
+        assertEquals(1, meterRegistry.get("store.stock.lock.hold").timer().count());
+        assertEquals("outer", lock.snapshot().longestHolds().get(0).context());
+    }
+
+    @Test
+    void longestHolds_ShouldKeepTheLongestHoldsInDescendingOrder() {
+        // Arrange
+        for (int i = 1; i <= InstrumentedLock.LONGEST_HOLDS + 5; i++) {
+            lock.lock("hold-" + i);
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(i));
+            lock.unlock();
+        }
+
+        // Act
+        List<LockSnapshot.Hold> holds = lock.snapshot().longestHolds();
+
+        // Assert
+        assertEquals(InstrumentedLock.LONGEST_HOLDS, holds.size());
+        assertEquals("hold-15", holds.get(0).context());
+        assertEquals("hold-6", holds.get(holds.size() - 1).context());
+    }
+
+    @Test
+    void resetLongestHolds_ShouldClearTheList() {
+        // Arrange
+        lock.lock("hold");
+        nanos.addAndGet(1_000);
+        lock.unlock();
+
+        // Act
+        lock.resetLongestHolds();
+
+        // Assert
+        assertTrue(lock.snapshot().longestHolds().isEmpty());
+    }
+
+    @Test
+    void snapshot_ShouldReportQueuedThreads() throws Exception {
+        // Arrange
+        InstrumentedLock realClockLock = new InstrumentedLock("stock", "store.stock.lock", new SimpleMeterRegistry());
+        realClockLock.lock("holder");
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            realClockLock.lock("waiter");
+            acquired.countDown();
+            realClockLock.unlock();
+        });
+        waiter.start();
+
+        // Act
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (realClockLock.snapshot().queueLength() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        int queued = realClockLock.snapshot().queueLength();
+        realClockLock.unlock();
+
+        // Assert
+        assertEquals(1, queued);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        waiter.join();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.storeapplication.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockLocksEndpointTest {
+
+    private final InstrumentedLock stockLock = new InstrumentedLock("stock", "store.stock.lock", new SimpleMeterRegistry());
+
+    private final StockLocksEndpoint endpoint = new StockLocksEndpoint(List.of(stockLock));
+
+    @Test
+    void locks_ShouldReturnSnapshotPerLock() {
+        // Arrange
+        stockLock.lock("add basket=abc product=1");
+
+        // Act
+        LockSnapshot snapshot = endpoint.locks().get("stock");
+        stockLock.unlock();
+
+        // Assert
+        assertTrue(snapshot.locked());
+        assertEquals("add basket=abc product=1", snapshot.currentHolder().context());
+        assertNull(endpoint.lock("unknown"));
+    }
+
+    @Test
+    void resetLongestHolds_ShouldClearNamedLock() {
+        // Arrange
+        stockLock.lock("remove basket=abc product=1");
+        stockLock.unlock();
+
+        // Act
+        endpoint.resetLongestHolds("stock");
+
+        // Assert
+        assertTrue(endpoint.lock("stock").longestHolds().isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.storeapplication.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requests arriving through a trusted proxy (here loopback) are limited by
+ * the address in {@code X-Forwarded-For}, not by the proxy's.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimitforwarded",
+        "store.rate-limit.capacity=2",
+        "store.rate-limit.refill-per-second=1",
+        "store.tracing.enabled=false"
+})
+class RateLimitForwardedAddressTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void addToBasket_ThroughProxy_ShouldLimitEachForwardedAddress() throws Exception {
+        // Arrange
+        for (int i = 0; i < 2; i++) {
+            assertNotEquals(429, addToBasket("203.0.113.10"));
+        }
+
+        // Act
+        int sameShopper = addToBasket("203.0.113.10");
+        int otherShopper = addToBasket("203.0.113.20");
+
+        // Assert
+        assertEquals(429, sameShopper);
+        assertNotEquals(429, otherShopper);
+    }
+
+    private int addToBasket(String forwardedFor) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/customer/basket/add"))
+                        .header("X-Forwarded-For", forwardedFor)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":1,\"quantity\":1}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+}
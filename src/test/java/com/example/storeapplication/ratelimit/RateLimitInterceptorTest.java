@@ -0,0 +1,143 @@
+package com.example.storeapplication.ratelimit;
+
+import com.example.storeapplication.config.BasketTokenProperties;
+import com.example.storeapplication.config.RateLimitProperties;
+import com.example.storeapplication.controller.CustomerController;
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.exception.GlobalExceptionHandler;
+import com.example.storeapplication.service.CustomerService;
+import com.example.storeapplication.session.HttpSessionBasketIdResolver;
+import com.example.storeapplication.session.SignedTokenBasketIdResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitInterceptorTest {
+
+    private MockMvc mockMvc;
+    private SimpleMeterRegistry meterRegistry;
+    private String body;
+
+    @Mock
+    private CustomerService customerService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(2);
+        properties.setRefillPerSecond(1);
+        meterRegistry = new SimpleMeterRegistry();
+        HttpSessionBasketIdResolver resolver = new HttpSessionBasketIdResolver();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new CustomerController(customerService, resolver))
+                .addMappedInterceptors(new String[]{"/customer/basket/**"},
+                        new RateLimitInterceptor(properties, resolver, meterRegistry))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        body = new ObjectMapper().writeValueAsString(new BasketItemRequest(1L, 1));
+    }
+
+    @Test
+    void addToBasket_RandomSessionCookiePerRequest_ShouldBeLimitedByAddress() throws Exception {
+        // Arrange
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(2);
+        properties.setRefillPerSecond(1);
+        BasketTokenProperties tokenProperties = new BasketTokenProperties();
+        tokenProperties.setSecret("0123456789abcdef0123456789abcdef");
+        SignedTokenBasketIdResolver resolver = new SignedTokenBasketIdResolver(tokenProperties);
+        MockMvc tokenMockMvc = MockMvcBuilders.standaloneSetup(new CustomerController(customerService, resolver))
+                .addMappedInterceptors(new String[]{"/customer/basket/**"},
+                        new RateLimitInterceptor(properties, resolver, meterRegistry))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(customerService.addToBasket(anyString(), any(BasketItemRequest.class))).thenReturn("ok");
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            tokenMockMvc.perform(post("/customer/basket/add").with(unknownSessionCookie("forged-" + i))
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+        }
+
+        // Assert
+        tokenMockMvc.perform(post("/customer/basket/add").with(unknownSessionCookie("forged-2"))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void addToBasket_OverLimit_ShouldReturn429WithRetryAfter() throws Exception {
+        // Arrange
+        when(customerService.addToBasket(anyString(), any(BasketItemRequest.class))).thenReturn("ok");
+        MockHttpSession session = new MockHttpSession();
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/customer/basket/add").session(session)
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk());
+        }
+
+        // Assert
+        mockMvc.perform(post("/customer/basket/add").session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        assertEquals(2.0, meterRegistry.counter("store.ratelimit.requests", "outcome", "admitted").count());
+        assertEquals(1.0, meterRegistry.counter("store.ratelimit.requests", "outcome", "rejected").count());
+    }
+
+    @Test
+    void addToBasket_OtherSession_ShouldNotBeThrottled() throws Exception {
+        // Arrange
+        when(customerService.addToBasket(anyString(), any(BasketItemRequest.class))).thenReturn("ok");
+        MockHttpSession greedy = new MockHttpSession();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/customer/basket/add").session(greedy)
+                    .contentType(MediaType.APPLICATION_JSON).content(body));
+        }
+
+        // Act & Assert
+        mockMvc.perform(post("/customer/basket/add").session(new MockHttpSession())
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getProducts_ShouldNotBeRateLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/customer/products"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static RequestPostProcessor unknownSessionCookie(String sessionId) {
+        return request -> {
+            request.setRequestedSessionId(sessionId);
+            request.setRequestedSessionIdValid(false);
+            return request;
+        };
+    }
+}
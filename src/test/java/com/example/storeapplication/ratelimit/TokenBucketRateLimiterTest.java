@@ -0,0 +1,116 @@
+package com.example.storeapplication.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void tryAcquire_ShouldAdmitBurstUpToCapacity() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, 100, clock::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(1000, limiter.tryAcquire("client"));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 4, 100, clock::get);
+        limiter.tryAcquire("client");
+
+        // Act
+        long waitBeforeRefill = limiter.tryAcquire("client");
+        clock.addAndGet(250);
+        long afterRefill = limiter.tryAcquire("client");
+
+        // Assert
+        assertEquals(250, waitBeforeRefill);
+        assertEquals(0, afterRefill);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepClientsIndependent() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, clock::get);
+        limiter.tryAcquire("greedy");
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire("greedy") > 0);
+        assertEquals(0, limiter.tryAcquire("polite"));
+    }
+
+    @Test
+    void tryAcquire_WhenTableIsFull_ShouldShedNewKeysOnly() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 1, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        // Act & Assert
+        assertEquals(TokenBucketRateLimiter.SHED, limiter.tryAcquire("c"));
+        assertEquals(0, limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyFullyRefilledBuckets() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, 100, clock::get);
+        limiter.tryAcquire("idle");
+        clock.addAndGet(1500);
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        // Act
+        clock.addAndGet(600);
+        int evicted = limiter.evictIdle();
+
+        // Assert
+        assertEquals(1, evicted);
+        assertEquals(1, limiter.size());
+        assertTrue(limiter.tryAcquire("busy") >= 0);
+    }
+
+    @Test
+    void tryAcquire_Concurrently_ShouldNeverAdmitMoreThanCapacity() throws InterruptedException {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1, 100, clock::get);
+        AtomicLong admitted = new AtomicLong();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(100, admitted.get());
+    }
+
+    @Test
+    void constructor_CapacityTooLargeForPackedState_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucketRateLimiter(20_000, 1, 100, clock::get));
+    }
+}
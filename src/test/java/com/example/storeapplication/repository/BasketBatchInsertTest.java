@@ -0,0 +1,64 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.Basket;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements needed to persist a basket through the cascade.
+ * With IDENTITY ids every item was its own INSERT (items + 1 statements);
+ * pooled sequences let Hibernate batch the item inserts into one statement.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BasketBatchInsertTest {
+
+    private static final int ITEM_COUNT = 40;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveBasket_ShouldBatchItemInserts() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            products.add(new Product("Product " + i, "Description " + i,
+                    BigDecimal.valueOf(10 + i), Category.ELECTRONICS, 100));
+        }
+        productRepository.saveAllAndFlush(products);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Basket basket = new Basket("batch-session");
+        products.forEach(product -> basket.addItem(product, 1));
+
+        // Act
+        basketRepository.saveAndFlush(basket);
+
+        // Assert
+        assertEquals(ITEM_COUNT + 1, statistics.getEntityInsertCount());
+        // One call to baskets_seq, two to basket_items_seq (a fresh sequence's first pool holds a single id),
+        // the basket insert and one batched item insert
+        assertEquals(5, statistics.getPrepareStatementCount(),
+                "Expected batched inserts instead of the " + (ITEM_COUNT + 1) + " statements IDENTITY ids needed");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.Basket;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BasketRepositoryTest {
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void addItem_OnReloadedBasket_ShouldMergeIntoExistingLine() {
+        // Arrange
+        Product product = productRepository.save(
+                new Product("Speaker", "Bluetooth", new BigDecimal("60.00"), Category.AUDIO, 10));
+        Basket basket = new Basket("reload-add");
+        basket.addItem(product, 1);
+        basketRepository.saveAndFlush(basket);
+        entityManager.clear();
+
+        // Act
+        Basket reloaded = basketRepository.findBySessionId("reload-add").orElseThrow();
+        reloaded.addItem(productRepository.findById(product.getId()).orElseThrow(), 2);
+        basketRepository.saveAndFlush(reloaded);
+        entityManager.clear();
+
+        // Assert
+        Basket result = basketRepository.findBySessionId("reload-add").orElseThrow();
+        assertEquals(1, result.getItems().size());
+        assertEquals(3, result.getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void removeItem_OnReloadedBasket_ShouldDeleteTheLine() {
+        // Arrange
+        Product product = productRepository.save(
+                new Product("Charger", "USB-C", new BigDecimal("25.00"), Category.ACCESSORIES, 10));
+        Basket basket = new Basket("reload-remove");
+        basket.addItem(product, 2);
+        basketRepository.saveAndFlush(basket);
+        entityManager.clear();
+
+        // Act
+        Basket reloaded = basketRepository.findBySessionId("reload-remove").orElseThrow();
+        boolean removed = reloaded.removeItem(product.getId(), 2);
+        basketRepository.saveAndFlush(reloaded);
+        entityManager.clear();
+
+        // Assert
+        assertTrue(removed);
+        assertTrue(basketRepository.findBySessionId("reload-remove").orElseThrow().getItems().isEmpty());
+    }
+}
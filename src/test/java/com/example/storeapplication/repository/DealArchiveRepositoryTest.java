@@ -0,0 +1,70 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.DealArchive;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class DealArchiveRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private DealArchiveRepository dealArchiveRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void archive_ShouldMoveOnlyRemovedAndExpiredDeals() {
+        // Arrange
+        Product product = productRepository.save(
+                new Product("Keyboard", "Mechanical", BigDecimal.TEN, Category.COMPUTERS, 10));
+        LocalDateTime now = LocalDateTime.now();
+
+        Deal live = new Deal(product, "Live", 1, BigDecimal.ONE, now.plusDays(1));
+        Deal expired = new Deal(product, "Expired", 1, BigDecimal.ONE, now.minusDays(1));
+        Deal removed = new Deal(product, "Removed", 1, BigDecimal.ONE, now.plusDays(1));
+        removed.setActive(false);
+        Deal scheduled = new Deal(product, "Scheduled", 1, BigDecimal.ONE, now.plusDays(2));
+        scheduled.setActive(false);
+        scheduled.setActivationDate(now.plusDays(1));
+        dealRepository.saveAll(List.of(live, expired, removed, scheduled));
+        entityManager.flush();
+
+        // Act
+        List<Long> ids = dealRepository.findArchivableDealIds(now, PageRequest.of(0, 10));
+        int copied = dealRepository.copyToArchive(ids, now);
+        int deleted = dealRepository.deleteAllByIdIn(ids);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(2, copied);
+        assertEquals(2, deleted);
+        assertTrue(ids.containsAll(List.of(expired.getId(), removed.getId())));
+        assertEquals(2, dealRepository.count());
+
+        DealArchive archived = dealArchiveRepository.findById(expired.getId()).orElseThrow();
+        assertEquals("Expired", archived.getDescription());
+        assertEquals(product.getId(), archived.getProductId());
+        assertEquals("Keyboard", archived.getProductName());
+        assertEquals(2, dealArchiveRepository.findByProductId(product.getId(), PageRequest.of(0, 10))
+                .getTotalElements());
+    }
+}
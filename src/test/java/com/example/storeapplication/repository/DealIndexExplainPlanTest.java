@@ -0,0 +1,75 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks on H2 that the active-deal lookups are answered from the composite
+ * deal indexes instead of a scan of the whole deals table.
+ */
+@DataJpaTest
+class DealIndexExplainPlanTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(
+                new Product("Speaker", "Bluetooth speaker", BigDecimal.TEN, Category.AUDIO, 10));
+        List<Deal> deals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Deal deal = new Deal(product, "Deal " + i, 1, BigDecimal.ONE, LocalDateTime.now().minusDays(i));
+            deal.setActive(i % 10 == 0);
+            deals.add(deal);
+        }
+        dealRepository.saveAll(deals);
+        entityManager.flush();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    @Test
+    void activeDealsForProduct_ShouldUseProductActiveExpirationIndex() {
+        // Act
+        String plan = explain("SELECT * FROM deals d WHERE d.product_id = " + product.getId()
+                + " AND d.active = TRUE AND (d.expiration_date IS NULL OR d.expiration_date > CURRENT_TIMESTAMP)");
+
+        // Assert
+        assertTrue(plan.toUpperCase().contains("IDX_DEALS_PRODUCT_ACTIVE_EXPIRATION"), plan);
+    }
+
+    @Test
+    void expiredActiveDeals_ShouldUseActiveExpirationIndex() {
+        // Act
+        String plan = explain("SELECT d.id FROM deals d WHERE d.active = TRUE"
+                + " AND d.expiration_date <= CURRENT_TIMESTAMP");
+
+        // Assert
+        assertTrue(plan.toUpperCase().contains("IDX_DEALS_ACTIVE_EXPIRATION"), plan);
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Same check as {@link DealIndexExplainPlanTest} against PostgreSQL with the
+ * partial indexes from {@code db/postgresql/03_active_deal_partial_indexes.sql}.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DealIndexPostgresExplainPlanTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        product = productRepository.save(
+                new Product("Speaker", "Bluetooth speaker", BigDecimal.TEN, Category.AUDIO, 10));
+        List<Deal> deals = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Deal deal = new Deal(product, "Deal " + i, 1, BigDecimal.ONE, LocalDateTime.now().minusDays(i));
+            deal.setActive(i % 100 == 0);
+            deals.add(deal);
+        }
+        dealRepository.saveAll(deals);
+        entityManager.flush();
+
+        String migration = new ClassPathResource("db/postgresql/03_active_deal_partial_indexes.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        entityManager.createNativeQuery(migration).executeUpdate();
+        entityManager.createNativeQuery("ANALYZE deals").executeUpdate();
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+    }
+
+    @Test
+    void activeDealsForProduct_ShouldUsePartialIndex() {
+        // Act
+        String plan = explain("SELECT * FROM deals d WHERE d.product_id = " + product.getId()
+                + " AND d.active AND d.expiration_date > now()");
+
+        // Assert
+        assertTrue(plan.contains("idx_deals_live_by_product"), plan);
+    }
+
+    @Test
+    void expiredActiveDeals_ShouldUsePartialIndex() {
+        // Act
+        String plan = explain("SELECT d.id FROM deals d WHERE d.active AND d.expiration_date <= now()");
+
+        // Assert
+        assertTrue(plan.contains("idx_deals_live"), plan);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String explain(String sql) {
+        List<Object> rows = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return String.join("\n", rows.stream().map(String::valueOf).toList());
+    }
+}
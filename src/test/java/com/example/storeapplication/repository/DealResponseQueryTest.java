@@ -0,0 +1,109 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.dto.DealResponse;
+import com.example.storeapplication.enums.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the deal listing projections hydrate product data in the same
+ * statement instead of lazily loading each deal's product.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DealResponseQueryTest {
+
+    private static final int DEAL_COUNT = 25;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Deal> deals = new ArrayList<>();
+        for (int i = 0; i < DEAL_COUNT; i++) {
+            Product product = productRepository.save(
+                    new Product("Product " + i, "Description", BigDecimal.TEN, Category.GAMING, 5));
+            deals.add(new Deal(product, "Deal " + i, 1, BigDecimal.ONE, LocalDateTime.now().plusDays(1)));
+        }
+        dealRepository.saveAll(deals);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findActiveDealResponsesBefore_ShouldUseOneStatementPerPage() {
+        // Arrange
+        Set<Long> seen = new HashSet<>();
+        long cursor = Long.MAX_VALUE;
+        int pages = 0;
+
+        // Act & Assert
+        while (true) {
+            statistics.clear();
+            List<DealResponse> page = dealRepository.findActiveDealResponsesBefore(
+                    LocalDateTime.now(), cursor, Limit.of(10));
+            assertEquals(1, statistics.getPrepareStatementCount(), "statements for page " + pages);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            page.forEach(deal -> assertNotNull(deal.getProductName()));
+            page.forEach(deal -> assertTrue(seen.add(deal.getId())));
+            cursor = page.get(page.size() - 1).getId();
+            pages++;
+        }
+
+        assertEquals(DEAL_COUNT, seen.size());
+        assertEquals(3, pages);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findActiveDealResponses_ShouldNotLoadProductsPerRow() {
+        // Act
+        Page<DealResponse> page = dealRepository.findActiveDealResponses(
+                LocalDateTime.now(), PageRequest.of(1, 10, Sort.by("createdAt").descending()));
+
+        // Assert
+        assertEquals(10, page.getContent().size());
+        assertEquals(DEAL_COUNT, page.getTotalElements());
+        // one statement for the rows, one for the total count
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.storeapplication.repository;
+
+import com.example.storeapplication.domain.Basket;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.event.StockChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@RecordApplicationEvents
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private BasketItemRepository basketItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void adjustPriceAndStock_ShouldSkipRowsThatWouldGoNegative() {
+        // Arrange
+        Product cheap = productRepository.save(
+                new Product("Cable", "USB cable", new BigDecimal("5.00"), Category.ACCESSORIES, 1));
+        Product pricey = productRepository.save(
+                new Product("Monitor", "27 inch", new BigDecimal("300.00"), Category.COMPUTERS, 10));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int updated = productRepository.adjustPriceAndStock(
+                List.of(cheap.getId(), pricey.getId()), new BigDecimal("-10.00"), -2, LocalDateTime.now());
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, updated);
+        assertEquals(0, new BigDecimal("5.00").compareTo(productRepository.findById(cheap.getId()).orElseThrow().getPrice()));
+        Product adjusted = productRepository.findById(pricey.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("290.00").compareTo(adjusted.getPrice()));
+        assertEquals(8, adjusted.getStock());
+        assertNotNull(adjusted.getUpdatedAt());
+    }
+
+    @Test
+    void repriceForProducts_ShouldCopyCurrentPriceIntoBasketItems() {
+        // Arrange
+        Product product = productRepository.save(
+                new Product("Headset", "Wireless", new BigDecimal("80.00"), Category.AUDIO, 10));
+        Basket basket = new Basket("reprice-session");
+        basket.addItem(product, 2);
+        basketRepository.save(basket);
+        entityManager.flush();
+
+        productRepository.adjustPriceAndStock(List.of(product.getId()), new BigDecimal("5.00"), 0, LocalDateTime.now());
+
+        // Act
+        int repriced = basketItemRepository.repriceForProducts(List.of(product.getId()));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, repriced);
+        Basket reloaded = basketRepository.findBySessionId("reprice-session").orElseThrow();
+        assertEquals(0, new BigDecimal("85.00").compareTo(reloaded.getItems().get(0).getUnitPrice()));
+    }
+
+    @Test
+    void save_AfterStockChanges_ShouldPublishStockChangedEventsOnce() {
+        // Arrange
+        Product product = productRepository.save(
+                new Product("Keyboard", "Mechanical", new BigDecimal("70.00"), Category.ACCESSORIES, 5));
+        product.decrementStock(2);
+        product.incrementStock(1);
+        product.decrementStock(10);
+
+        // Act
+        productRepository.save(product);
+        productRepository.save(product);
+
+        // Assert
+        List<StockChangedEvent> events = applicationEvents.stream(StockChangedEvent.class).toList();
+        assertEquals(2, events.size());
+        assertEquals(3, events.get(0).getStock());
+        assertEquals(-2, events.get(0).getDelta());
+        assertEquals(4, events.get(1).getStock());
+        assertEquals(1, events.get(1).getDelta());
+        assertEquals(product.getId(), events.get(1).getProductId());
+    }
+}
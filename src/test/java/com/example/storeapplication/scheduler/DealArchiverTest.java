@@ -0,0 +1,75 @@
+package com.example.storeapplication.scheduler;
+
+import com.example.storeapplication.repository.DealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealArchiverTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DealArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void archive_ShouldCopyThenDeleteEachChunk() {
+        // Arrange
+        List<Long> fullChunk = LongStream.rangeClosed(1, DealArchiver.CHUNK_SIZE).boxed().toList();
+        when(dealRepository.findArchivableDealIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(fullChunk, List.of(9_999L));
+        when(dealRepository.deleteAllByIdIn(anyList()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        // Act
+        int archived = archiver.archive();
+
+        // Assert
+        assertEquals(DealArchiver.CHUNK_SIZE + 1, archived);
+        verify(dealRepository).copyToArchive(eq(fullChunk), any(LocalDateTime.class));
+        verify(dealRepository).copyToArchive(eq(List.of(9_999L)), any(LocalDateTime.class));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void archive_WithNothingToMove_ShouldNotWrite() {
+        // Arrange
+        when(dealRepository.findArchivableDealIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        int archived = archiver.archive();
+
+        // Assert
+        assertEquals(0, archived);
+        verify(dealRepository, never()).copyToArchive(anyList(), any());
+        verify(dealRepository, never()).deleteAllByIdIn(anyList());
+    }
+}
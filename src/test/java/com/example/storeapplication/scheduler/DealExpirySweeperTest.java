@@ -0,0 +1,76 @@
+package com.example.storeapplication.scheduler;
+
+import com.example.storeapplication.repository.DealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealExpirySweeperTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DealExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        when(dealRepository.deactivateDeals(anyList()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+    }
+
+    @Test
+    void sweep_ShouldDeactivateInBatchesUntilNothingIsLeft() {
+        // Arrange
+        List<Long> fullBatch = ids(DealExpirySweeper.BATCH_SIZE);
+        when(dealRepository.findExpiredActiveDealIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(fullBatch, fullBatch, List.of(1L, 2L));
+
+        // Act
+        int swept = sweeper.sweep();
+
+        // Assert
+        assertEquals(2 * DealExpirySweeper.BATCH_SIZE + 2, swept);
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void sweep_ShouldStopAfterMaxBatchesPerRun() {
+        // Arrange
+        when(dealRepository.findExpiredActiveDealIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(ids(DealExpirySweeper.BATCH_SIZE));
+
+        // Act
+        int swept = sweeper.sweep();
+
+        // Assert
+        assertEquals(DealExpirySweeper.MAX_BATCHES_PER_RUN * DealExpirySweeper.BATCH_SIZE, swept);
+        verify(dealRepository, times(DealExpirySweeper.MAX_BATCHES_PER_RUN)).deactivateDeals(anyList());
+    }
+
+    private static List<Long> ids(int count) {
+        return new ArrayList<>(LongStream.rangeClosed(1, count).boxed().toList());
+    }
+}
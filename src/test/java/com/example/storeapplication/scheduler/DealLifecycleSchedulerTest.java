@@ -0,0 +1,95 @@
+package com.example.storeapplication.scheduler;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.repository.DealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealLifecycleSchedulerTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DealLifecycleScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void tick_ShouldActivateAndExpireDueDeals() throws InterruptedException {
+        // Arrange
+        Deal pending = Deal.builder().id(1L).active(false)
+                .activationDate(LocalDateTime.now().minusSeconds(1)).build();
+        Deal expiring = Deal.builder().id(2L).active(true)
+                .expirationDate(LocalDateTime.now().minusSeconds(1)).build();
+        scheduler.schedule(pending);
+        scheduler.schedule(expiring);
+
+        // Act
+        Thread.sleep(DealLifecycleScheduler.TICK_MILLIS);
+        scheduler.tick();
+
+        // Assert
+        verify(dealRepository).activateDeals(List.of(1L));
+        verify(dealRepository).deactivateDeals(List.of(2L));
+        assertEquals(0, scheduler.pendingTransitions());
+    }
+
+    @Test
+    void tick_ShouldNotTouchDealsBeforeTheirBoundary() {
+        // Arrange
+        Deal future = Deal.builder().id(1L).active(false)
+                .activationDate(LocalDateTime.now().plusDays(1))
+                .expirationDate(LocalDateTime.now().plusDays(2)).build();
+        scheduler.schedule(future);
+
+        // Act
+        scheduler.tick();
+
+        // Assert
+        verifyNoInteractions(transactionTemplate);
+        assertEquals(2, scheduler.pendingTransitions());
+    }
+
+    @Test
+    void cancel_ShouldDropBothBoundaries() {
+        // Arrange
+        Deal future = Deal.builder().id(1L).active(false)
+                .activationDate(LocalDateTime.now().plusDays(1))
+                .expirationDate(LocalDateTime.now().plusDays(2)).build();
+        scheduler.schedule(future);
+
+        // Act
+        scheduler.cancel(1L);
+
+        // Assert
+        assertEquals(0, scheduler.pendingTransitions());
+        verify(dealRepository, never()).activateDeals(anyCollection());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.storeapplication.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_ShouldReturnKeysOnceTheirDeadlinePasses() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("a", START + 250);
+        wheel.schedule("b", START + 500);
+
+        // Act & Assert
+        assertEquals(List.of(), wheel.advance(START + 200));
+        assertEquals(List.of("a"), wheel.advance(START + 300));
+        assertEquals(List.of("b"), wheel.advance(START + 500));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldKeepEntriesScheduledSeveralRotationsAhead() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 4, START);
+        wheel.schedule("far", START + 1_000);
+
+        // Act & Assert
+        assertEquals(List.of(), wheel.advance(START + 900));
+        assertEquals(List.of("far"), wheel.advance(START + 1_000));
+    }
+
+    @Test
+    void advance_AfterLongPause_ShouldReturnEverythingDue() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 4, START);
+        wheel.schedule("a", START + 100);
+        wheel.schedule("b", START + 300);
+        wheel.schedule("later", START + 10_000);
+
+        // Act
+        List<String> due = wheel.advance(START + 5_000);
+
+        // Assert
+        assertTrue(due.containsAll(List.of("a", "b")));
+        assertEquals(2, due.size());
+        assertEquals(List.of("later"), wheel.advance(START + 10_000));
+    }
+
+    @Test
+    void cancel_ShouldPreventExpiry() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("a", START + 100);
+
+        // Act
+        assertTrue(wheel.cancel("a"));
+
+        // Assert
+        assertEquals(List.of(), wheel.advance(START + 1_000));
+        assertFalse(wheel.cancel("a"));
+    }
+
+    @Test
+    void schedule_SameKeyTwice_ShouldKeepLatestDeadline() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.schedule("a", START + 100);
+        wheel.schedule("a", START + 400);
+
+        // Act & Assert
+        assertEquals(List.of(), wheel.advance(START + 300));
+        assertEquals(List.of("a"), wheel.advance(START + 400));
+    }
+
+    @Test
+    void schedule_DeadlineInThePast_ShouldFireOnNextTick() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+
+        // Act
+        wheel.schedule("late", START - 5_000);
+
+        // Assert
+        assertEquals(List.of("late"), wheel.advance(START + 100));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.storeapplication.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    void rows_SameSeed_ShouldBeIdentical() {
+        // Arrange
+        DatasetGenerator first = new DatasetGenerator(7, 10_000, 1.0, NOW);
+        DatasetGenerator second = new DatasetGenerator(7, 10_000, 1.0, NOW);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.product(i), second.product(i));
+            assertEquals(first.deal(i), second.deal(i));
+            assertEquals(first.basket(i, 5), second.basket(i, 5));
+        }
+        assertNotEquals(first.product(0), new DatasetGenerator(8, 10_000, 1.0, NOW).product(0));
+    }
+
+    @Test
+    void popularProduct_Skewed_ShouldConcentrateOnFewProducts() {
+        // Arrange
+        int products = 100_000;
+        DatasetGenerator skewed = new DatasetGenerator(1, products, 1.0, NOW);
+        DatasetGenerator uniform = new DatasetGenerator(1, products, 0, NOW);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // Act
+        int[] hits = new int[products];
+        for (int i = 0; i < 100_000; i++) {
+            hits[skewed.popularProduct(random)]++;
+        }
+        long distinctUniform = IntStream.range(0, 100_000).map(i -> uniform.popularProduct(random)).distinct().count();
+
+        // Assert
+        int top = IntStream.of(hits).max().orElseThrow();
+        assertTrue(top > 3_000, "Most popular product got " + top + " of 100000 picks");
+        assertTrue(IntStream.of(hits).filter(count -> count > 0).count() < distinctUniform / 2);
+    }
+
+    @Test
+    void deals_ShouldCoverEveryTypeAndLifecycle() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(3, 1_000, 1.0, NOW);
+
+        // Act
+        Set<DatasetGenerator.DealRow> deals = IntStream.range(0, 1_000).mapToObj(generator::deal).collect(Collectors.toSet());
+
+        // Assert
+        assertEquals(EnumSet.allOf(DatasetGenerator.DealType.class),
+                deals.stream().map(DatasetGenerator.DealRow::type).collect(Collectors.toSet()));
+        assertTrue(deals.stream().anyMatch(deal -> !deal.active() && deal.activationDate() != null));
+        assertTrue(deals.stream().anyMatch(deal -> deal.expirationDate().isBefore(NOW)));
+        assertTrue(deals.stream().anyMatch(deal -> deal.active() && deal.expirationDate().isAfter(NOW)));
+    }
+
+    @Test
+    void basket_ShouldHaveDistinctProductsWithinLimit() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(5, 20, 1.5, NOW);
+
+        // Act & Assert
+        for (int i = 0; i < 500; i++) {
+            var lines = generator.basket(i, 5);
+            assertTrue(lines.size() >= 1 && lines.size() <= 5);
+            assertEquals(lines.size(), lines.stream().map(DatasetGenerator.BasketLine::product).distinct().count());
+            lines.forEach(line -> assertEquals(generator.product(line.product()).price(), line.unitPrice()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.storeapplication.seed;
+
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.repository.BasketRepository;
+import com.example.storeapplication.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed",
+        "spring.jpa.show-sql=false",
+        "store.seed.enabled=true",
+        "store.seed.products=2000",
+        "store.seed.deals=300",
+        "store.seed.baskets=100",
+        "store.seed.batch-size=128"
+})
+class DatasetSeederTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private DatasetSeeder datasetSeeder;
+
+    @Test
+    void seed_OnStartup_ShouldLoadDatasetAndKeepSequencesAhead() {
+        // Arrange
+        Long maxProductId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+        long seededProducts = count("products");
+
+        // Act
+        Product saved = productRepository.save(new Product("After seeding", "Description", BigDecimal.ONE,
+                Category.AUDIO, 1));
+
+        // Assert
+        assertEquals(2000, seededProducts);
+        assertEquals(300, count("deals"));
+        assertEquals(100, count("baskets"));
+        assertTrue(count("basket_items") >= 100);
+        assertEquals(0, count("basket_items bi LEFT JOIN products p ON p.id = bi.product_id WHERE p.id IS NULL"));
+        assertTrue(saved.getId() > maxProductId, "New product id " + saved.getId() + " collides with seeded rows");
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void seed_NonEmptyDatabase_ShouldKeepSessionIdsUnique() {
+        // Act
+        datasetSeeder.seed(LocalDateTime.now());
+
+        // Assert
+        assertEquals(200, count("baskets"));
+        assertEquals(200, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT session_id) FROM baskets", Long.class));
+        assertTrue(basketRepository.findBySessionId("seed-basket-1").isPresent());
+        assertTrue(basketRepository.findBySessionId("seed-basket-200").isPresent());
+    }
+
+    private long count(String from) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from, Long.class);
+    }
+}
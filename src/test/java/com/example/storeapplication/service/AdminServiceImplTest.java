@@ -5,28 +5,52 @@ import com.example.storeapplication.exception.ProductNotFoundException;
 import com.example.storeapplication.domain.Deal;
 import com.example.storeapplication.domain.Product;
 import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.dto.DealArchiveResponse;
+import com.example.storeapplication.dto.DealBulkCreateRequest;
+import com.example.storeapplication.dto.DealBulkCreateResponse;
+import com.example.storeapplication.dto.CursorPageResponse;
 import com.example.storeapplication.dto.DealCreateRequest;
+import com.example.storeapplication.dto.DealResponse;
+import com.example.storeapplication.dto.ProductBulkUpdateRequest;
+import com.example.storeapplication.dto.ProductBulkUpdateResponse;
+import com.example.storeapplication.event.CatalogChangedEvent;
+import com.example.storeapplication.repository.BasketItemRepository;
+import com.example.storeapplication.repository.DealArchiveRepository;
+import com.example.storeapplication.domain.DealArchive;
 import com.example.storeapplication.dto.ProductCreateRequest;
 import com.example.storeapplication.dto.PageResponse;
 import com.example.storeapplication.dto.ProductResponse;
 import com.example.storeapplication.repository.DealRepository;
 import com.example.storeapplication.repository.ProductRepository;
+import com.example.storeapplication.lock.InstrumentedLock;
+import com.example.storeapplication.scheduler.DealLifecycleScheduler;
 import com.example.storeapplication.service.impl.AdminServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +62,24 @@ class AdminServiceImplTest {
     @Mock
     private DealRepository dealRepository;
 
+    @Mock
+    private DealArchiveRepository dealArchiveRepository;
+
+    @Mock
+    private BasketItemRepository basketItemRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DealLifecycleScheduler dealLifecycleScheduler;
+
+    @Spy
+    private InstrumentedLock stockLock = new InstrumentedLock("stock", "store.stock.lock", new SimpleMeterRegistry());
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -102,6 +144,8 @@ class AdminServiceImplTest {
         assertFalse(testProduct.isAvailable());
         verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).save(testProduct);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CatalogChangedEvent changed
+                && changed.getProductIds().contains(1L)));
     }
 
     @Test
@@ -142,6 +186,83 @@ class AdminServiceImplTest {
         verify(dealRepository, times(1)).save(any(Deal.class));
     }
 
+    @Test
+    void createDeal_WithFutureActivation_ShouldStoreInactiveAndSchedule() {
+        // Arrange
+        DealCreateRequest request = DealCreateRequest.builder()
+                .productId(1L)
+                .description("Midnight sale")
+                .buyQuantity(1)
+                .discountPercentage(BigDecimal.TEN)
+                .activationDate(LocalDateTime.now().plusHours(2))
+                .expirationDate(LocalDateTime.now().plusDays(1))
+                .build();
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(dealRepository.save(any(Deal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        adminService.createDeal(request);
+
+        // Assert
+        verify(dealLifecycleScheduler).schedule(argThat(deal -> !deal.isActive()
+                && deal.getActivationDate().equals(request.getActivationDate())));
+    }
+
+    @Test
+    void createDeals_ShouldFetchProductsOnceAndSaveAllDeals() {
+        // Arrange
+        runTransactionsInline();
+        Product secondProduct = new Product("Second", "Second product", BigDecimal.ONE, Category.AUDIO, 5);
+        secondProduct.setId(2L);
+        DealBulkCreateRequest request = new DealBulkCreateRequest(List.of(
+                DealCreateRequest.builder().productId(1L).description("Now").buyQuantity(2)
+                        .discountPercentage(BigDecimal.TEN).build(),
+                DealCreateRequest.builder().productId(2L).description("Later").buyQuantity(1)
+                        .discountAmount(BigDecimal.ONE).activationDate(LocalDateTime.now().plusHours(1)).build(),
+                DealCreateRequest.builder().productId(1L).description("Also now").buyQuantity(3)
+                        .discountPercentage(BigDecimal.ONE).build()
+        ));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, secondProduct));
+        when(dealRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Deal> deals = invocation.getArgument(0);
+            long id = 10;
+            for (Deal deal : deals) {
+                deal.setId(id++);
+            }
+            return deals;
+        });
+
+        // Act
+        DealBulkCreateResponse response = adminService.createDeals(request);
+
+        // Assert
+        assertEquals(3, response.getCreated());
+        assertEquals(1, response.getScheduled());
+        assertEquals(List.of(10L, 11L, 12L), response.getDealIds());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+        verify(dealLifecycleScheduler, times(3)).schedule(any(Deal.class));
+    }
+
+    @Test
+    void createDeals_WhenProductMissing_ShouldThrowException() {
+        // Arrange
+        runTransactionsInline();
+        DealBulkCreateRequest request = new DealBulkCreateRequest(List.of(
+                DealCreateRequest.builder().productId(1L).description("A").buyQuantity(1).build(),
+                DealCreateRequest.builder().productId(99L).description("B").buyQuantity(1).build()
+        ));
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct));
+
+        // Act & Assert
+        ProductNotFoundException exception = assertThrows(ProductNotFoundException.class,
+                () -> adminService.createDeals(request));
+        assertTrue(exception.getMessage().contains("99"));
+        verify(dealRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void removeDeal_ShouldDeactivateDeal() {
         // Arrange
@@ -153,8 +274,10 @@ class AdminServiceImplTest {
 
         // Assert
         assertFalse(testDeal.isActive());
+        assertNull(testDeal.getActivationDate());
         verify(dealRepository, times(1)).findById(1L);
         verify(dealRepository, times(1)).save(testDeal);
+        verify(dealLifecycleScheduler).cancel(1L);
     }
 
     @Test
@@ -211,19 +334,159 @@ class AdminServiceImplTest {
     void getAllDeals_ShouldReturnPageOfActiveDeals() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
-        Page<Deal> dealPage = new PageImpl<>(Collections.singletonList(testDeal), pageable, 1);
-        
-        when(dealRepository.findActiveDeals(any(LocalDateTime.class), any(Pageable.class)))
+        Page<DealResponse> dealPage = new PageImpl<>(Collections.singletonList(testDealResponse(1L)), pageable, 1);
+
+        when(dealRepository.findActiveDealResponses(any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(dealPage);
 
         // Act
-        PageResponse<Deal> response = adminService.getAllDeals(0, 10);
+        PageResponse<DealResponse> response = adminService.getAllDeals(0, 10);
 
         // Assert
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
         assertEquals("Test Deal", response.getContent().get(0).getDescription());
+        assertEquals("Test Product", response.getContent().get(0).getProductName());
         verify(dealRepository, times(1))
-                .findActiveDeals(any(LocalDateTime.class), any(Pageable.class));
+                .findActiveDealResponses(any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void getDeals_ShouldFetchOneExtraRowToDetectNextPage() {
+        // Arrange
+        when(dealRepository.findActiveDealResponsesBefore(any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(testDealResponse(9L), testDealResponse(8L), testDealResponse(7L)));
+
+        // Act
+        CursorPageResponse<DealResponse> response = adminService.getDeals(null, 2);
+
+        // Assert
+        assertEquals(2, response.getContent().size());
+        assertTrue(response.isHasNext());
+        assertEquals(8L, response.getNextCursor());
+    }
+
+    @Test
+    void getDeals_OnLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        when(dealRepository.findActiveDealResponsesBefore(any(LocalDateTime.class), eq(8L), eq(Limit.of(3))))
+                .thenReturn(List.of(testDealResponse(7L)));
+
+        // Act
+        CursorPageResponse<DealResponse> response = adminService.getDeals(8L, 2);
+
+        // Assert
+        assertEquals(1, response.getContent().size());
+        assertFalse(response.isHasNext());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void bulkUpdateProducts_ShouldGroupIdenticalDeltasIntoOneUpdate() {
+        // Arrange
+        runTransactionsInline();
+        ProductBulkUpdateRequest request = new ProductBulkUpdateRequest(List.of(
+                new ProductBulkUpdateRequest.ProductAdjustment(1L, new BigDecimal("1.50"), 5),
+                new ProductBulkUpdateRequest.ProductAdjustment(2L, new BigDecimal("1.5"), 5),
+                new ProductBulkUpdateRequest.ProductAdjustment(3L, null, -2)
+        ), true);
+
+        when(productRepository.adjustPriceAndStock(eq(List.of(1L, 2L)), any(BigDecimal.class), eq(5), any()))
+                .thenReturn(2);
+        when(productRepository.adjustPriceAndStock(eq(List.of(3L)), any(BigDecimal.class), eq(-2), any()))
+                .thenReturn(0);
+        when(basketItemRepository.repriceForProducts(List.of(1L, 2L))).thenReturn(4);
+
+        // Act
+        ProductBulkUpdateResponse response = adminService.bulkUpdateProducts(request);
+
+        // Assert
+        assertEquals(3, response.getRequested());
+        assertEquals(2, response.getUpdated());
+        assertEquals(1, response.getSkipped());
+        assertEquals(4, response.getRepricedBasketItems());
+        assertEquals(1, response.getChunks());
+        verify(productRepository, times(2)).adjustPriceAndStock(anyList(), any(BigDecimal.class), anyInt(), any());
+        verify(eventPublisher, times(1)).publishEvent(any(CatalogChangedEvent.class));
+    }
+
+    @Test
+    void bulkUpdateProducts_ShouldCommitAndInvalidateOncePerChunk() {
+        // Arrange
+        runTransactionsInline();
+        List<ProductBulkUpdateRequest.ProductAdjustment> adjustments = new ArrayList<>();
+        for (long id = 1; id <= 1200; id++) {
+            adjustments.add(new ProductBulkUpdateRequest.ProductAdjustment(id, null, 1));
+        }
+        when(productRepository.adjustPriceAndStock(anyList(), any(BigDecimal.class), eq(1), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        // Act
+        ProductBulkUpdateResponse response = adminService.bulkUpdateProducts(
+                new ProductBulkUpdateRequest(adjustments, false));
+
+        // Assert
+        assertEquals(1200, response.getUpdated());
+        assertEquals(3, response.getChunks());
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(eventPublisher, times(3)).publishEvent(any(CatalogChangedEvent.class));
+        verify(basketItemRepository, never()).repriceForProducts(anyList());
+    }
+
+    @Test
+    void bulkUpdateProducts_ShouldHoldStockLockAroundEachChunkTransaction() {
+        // Arrange
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            assertTrue(stockLock.snapshot().locked());
+            return invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null);
+        });
+        when(productRepository.adjustPriceAndStock(anyList(), any(BigDecimal.class), eq(-1), any())).thenReturn(1);
+
+        // Act
+        adminService.bulkUpdateProducts(new ProductBulkUpdateRequest(List.of(
+                new ProductBulkUpdateRequest.ProductAdjustment(1L, null, -1)), false));
+
+        // Assert
+        verify(stockLock, times(1)).lock(any());
+        verify(stockLock, times(1)).unlock();
+        assertFalse(stockLock.snapshot().locked());
+    }
+
+    @Test
+    void getArchivedDeals_WithProduct_ShouldFilterByProduct() {
+        // Arrange
+        LocalDateTime archivedAt = LocalDateTime.now();
+        DealArchive archived = DealArchive.builder().id(3L).productId(1L).description("Old")
+                .archivedAt(archivedAt).build();
+        when(dealArchiveRepository.findByProductId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(archived)));
+
+        // Act
+        PageResponse<DealArchiveResponse> response = adminService.getArchivedDeals(1L, 0, 10);
+
+        // Assert
+        assertEquals(1, response.getContent().size());
+        assertEquals(3L, response.getContent().get(0).getId());
+        assertEquals("Old", response.getContent().get(0).getDescription());
+        assertEquals(archivedAt, response.getContent().get(0).getArchivedAt());
+        verify(dealArchiveRepository, never()).findAll(any(Pageable.class));
+    }
+
+    private DealResponse testDealResponse(Long id) {
+        return DealResponse.builder()
+                .id(id)
+                .productId(testProduct.getId())
+                .productName(testProduct.getName())
+                .description("Test Deal")
+                .buyQuantity(2)
+                .discountPercentage(BigDecimal.TEN)
+                .active(true)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
     }
 }
@@ -0,0 +1,102 @@
+package com.example.storeapplication.service;
+
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.event.CatalogChangedEvent;
+import com.example.storeapplication.service.impl.CoalescingCustomerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingCustomerServiceTest {
+
+    @Mock
+    private CustomerService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingCustomerService customerService;
+    private PageResponse<ProductResponse> page;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerService = new CoalescingCustomerService(delegate, Duration.ofMinutes(1), meterRegistry);
+        page = new PageResponse<>(List.of(), 0, 10, 0, 0);
+    }
+
+    @Test
+    void getProducts_EquivalentQueries_ShouldQueryOnce() {
+        // Arrange
+        when(delegate.getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(page);
+
+        // Act
+        PageResponse<ProductResponse> first = customerService.getProducts(Category.ELECTRONICS,
+                new BigDecimal("10"), new BigDecimal("100.00"), true, 0, 10, "price", "ASC");
+        PageResponse<ProductResponse> second = customerService.getProducts(Category.ELECTRONICS,
+                new BigDecimal("10.0"), new BigDecimal("100"), true, 0, 10, "price", "asc");
+
+        // Assert
+        assertSame(first, second);
+        verify(delegate, times(1)).getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString());
+        assertEquals(1.0, meterRegistry.get("store.catalog.coalescing").tag("outcome", "executed").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("store.catalog.coalescing").tag("outcome", "grace_hit").functionCounter().count());
+    }
+
+    @Test
+    void getProducts_DifferentPages_ShouldQueryEach() {
+        // Arrange
+        when(delegate.getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(page);
+
+        // Act
+        customerService.getProducts(Category.AUDIO, null, null, null, 0, 10, "id", "asc");
+        customerService.getProducts(Category.AUDIO, null, null, null, 1, 10, "id", "asc");
+
+        // Assert
+        verify(delegate, times(2)).getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void onCatalogChanged_ShouldDropSharedResults() {
+        // Arrange
+        when(delegate.getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(page);
+        customerService.getProducts(Category.AUDIO, null, null, null, 0, 10, "id", "asc");
+
+        // Act
+        customerService.onCatalogChanged(new CatalogChangedEvent(List.of(1L)));
+        customerService.getProducts(Category.AUDIO, null, null, null, 0, 10, "id", "asc");
+
+        // Assert
+        verify(delegate, times(2)).getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void addToBasket_ShouldPassThrough() {
+        // Arrange
+        BasketItemRequest request = new BasketItemRequest(1L, 1);
+        when(delegate.addToBasket("session", request)).thenReturn("ok");
+
+        // Act & Assert
+        assertEquals("ok", customerService.addToBasket("session", request));
+        assertEquals("ok", customerService.addToBasket("session", request));
+        verify(delegate, times(2)).addToBasket("session", request);
+    }
+}
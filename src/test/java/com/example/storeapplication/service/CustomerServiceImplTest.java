@@ -8,17 +8,24 @@ import com.example.storeapplication.dto.BasketItemRequest;
 import com.example.storeapplication.dto.PageResponse;
 import com.example.storeapplication.dto.ProductResponse;
 import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.lock.InstrumentedLock;
+import com.example.storeapplication.lock.LockSnapshot;
 import com.example.storeapplication.repository.BasketRepository;
 import com.example.storeapplication.repository.DealRepository;
 import com.example.storeapplication.repository.ProductRepository;
 import com.example.storeapplication.service.impl.CustomerServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -40,6 +47,12 @@ class CustomerServiceImplTest {
     @Mock
     private ReceiptCalculationService receiptCalculationService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private InstrumentedLock stockLock = new InstrumentedLock("stock", "store.stock.lock", new SimpleMeterRegistry());
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -129,10 +142,34 @@ class CustomerServiceImplTest {
 
         // Assert
         assertEquals("Product added to basket successfully", result);
-        assertEquals(1, testBasketItem.getQuantity()); // Quantity increased from 1 to 2
+        assertEquals(2, testBasketItem.getQuantity()); // Quantity increased from 1 to 2
+        assertEquals(1, testBasket.getItems().size());
         assertEquals(9, testProduct.getStock()); // 10 - 1 = 9
     }
 
+    @Test
+    void addToBasket_InTransaction_ShouldHoldStockLockUntilCompletion() {
+        // Arrange
+        String sessionId = "test-session";
+        BasketItemRequest request = new BasketItemRequest(1L, 1);
+
+        when(basketRepository.findBySessionId(sessionId)).thenReturn(Optional.of(testBasket));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            customerService.addToBasket(sessionId, request);
+
+            // Assert
+            assertTrue(stockLock.snapshot().locked());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertFalse(stockLock.snapshot().locked());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     void addToBasket_ProductNotFound_ShouldThrowException() {
         // Arrange
@@ -208,4 +245,24 @@ class CustomerServiceImplTest {
         verify(productRepository, times(1))
             .findAllWithFilter(any(), any(), any(), any(), any(Pageable.class));
     }
+
+    @Test
+    void addToBasket_InsufficientStock_ShouldRecordRejectionAndOutcome() {
+        // Arrange
+        testProduct.setStock(1);
+        BasketItemRequest request = new BasketItemRequest(1L, 2);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        assertThrows(InsufficientStockException.class,
+            () -> customerService.addToBasket("test-session", request));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("store.stock.rejections").tag("outcome", "insufficient_stock").counter().count());
+        assertEquals(1, meterRegistry.get("store.basket.add").tag("outcome", "insufficient_stock").timer().count());
+        LockSnapshot lock = stockLock.snapshot();
+        assertFalse(lock.locked());
+        assertEquals(1, lock.holdMs().count());
+        assertEquals("add basket=test-ses... product=1", lock.longestHolds().get(0).context());
+    }
 }
@@ -0,0 +1,174 @@
+package com.example.storeapplication.service;
+
+import com.example.storeapplication.domain.Basket;
+import com.example.storeapplication.domain.BasketItem;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.exception.InsufficientStockException;
+import com.example.storeapplication.repository.BasketRepository;
+import com.example.storeapplication.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drop simulation: thousands of shoppers adding and removing a handful of
+ * low-stock products at once through {@link CustomerService}. Afterwards
+ * every unit must be either on the shelf or in exactly one basket; anything
+ * else is an oversell or a lost return. Prints throughput and rejection
+ * rates. Not part of the regular build:
+ * <pre>
+ * mvn test -Dtest=OversellStressBenchmark -Dcheckstyle.skip
+ * </pre>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:oversell",
+        "spring.jpa.show-sql=false",
+        "store.rate-limit.enabled=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class OversellStressBenchmark {
+
+    private static final int SHOPPERS = 2_000;
+
+    private static final int THREADS = 64;
+
+    private static final int OPERATIONS_PER_SHOPPER = 6;
+
+    private static final int PRODUCTS = 3;
+
+    private static final int INITIAL_STOCK = 100;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void drop_ShouldNeitherOversellNorLoseStock() throws Exception {
+        // Arrange
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productRepository.save(new Product("Drop product " + i, "Limited edition",
+                    new BigDecimal("99.00"), Category.GAMING, INITIAL_STOCK)).getId());
+        }
+        Stats stats = new Stats();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> shoppers = new ArrayList<>();
+        for (int i = 0; i < SHOPPERS; i++) {
+            String sessionId = "drop-shopper-" + i;
+            Random random = new Random(i);
+            shoppers.add(executor.submit(() -> {
+                start.await();
+                shop(sessionId, productIds, random, stats);
+                return null;
+            }));
+        }
+
+        // Act
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> shopper : shoppers) {
+            shopper.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Assert
+        stats.print(seconds);
+        Map<Long, Integer> inBaskets = quantitiesInBaskets();
+        for (Long productId : productIds) {
+            int onShelf = productRepository.findById(productId).orElseThrow().getStock();
+            int held = inBaskets.getOrDefault(productId, 0);
+            System.out.printf("product %d: %d on shelf + %d in baskets = %d of %d%n",
+                    productId, onShelf, held, onShelf + held, INITIAL_STOCK);
+            assertTrue(onShelf >= 0, "Negative stock for product " + productId);
+            assertEquals(INITIAL_STOCK, onShelf + held, "Stock not conserved for product " + productId);
+        }
+        assertEquals(0, stats.errors.sum(), "Unexpected failures");
+    }
+
+    private void shop(String sessionId, List<Long> productIds, Random random, Stats stats) {
+        List<Long> held = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS_PER_SHOPPER; i++) {
+            // Mostly adds, as in a drop; returns only what this shopper holds
+            boolean remove = !held.isEmpty() && random.nextInt(3) == 0;
+            Long productId = remove ? held.get(random.nextInt(held.size())) : productIds.get(random.nextInt(productIds.size()));
+            BasketItemRequest request = new BasketItemRequest(productId, 1);
+            try {
+                if (remove) {
+                    customerService.removeFromBasket(sessionId, request);
+                    held.remove(productId);
+                    stats.removes.increment();
+                } else {
+                    customerService.addToBasket(sessionId, request);
+                    held.add(productId);
+                    stats.adds.increment();
+                }
+            } catch (InsufficientStockException e) {
+                stats.rejections.increment();
+            } catch (RuntimeException e) {
+                stats.errors.increment();
+                if (stats.errors.sum() <= 5) {
+                    System.out.println(sessionId + ": " + e);
+                }
+            }
+        }
+    }
+
+    private Map<Long, Integer> quantitiesInBaskets() {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (Basket basket : basketRepository.findAll()) {
+                for (BasketItem item : basket.getItems()) {
+                    quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+                }
+            }
+            return quantities;
+        });
+    }
+
+    private static final class Stats {
+        private final LongAdder adds = new LongAdder();
+        private final LongAdder removes = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        void print(double seconds) {
+            long attempts = adds.sum() + removes.sum() + rejections.sum() + errors.sum();
+            System.out.printf("%d shoppers, %d operations in %.2f s: %.0f ops/s%n",
+                    SHOPPERS, attempts, seconds, attempts / seconds);
+            System.out.printf("adds %d, removes %d, rejected %d (%.1f%% of adds), errors %d%n",
+                    adds.sum(), removes.sum(), rejections.sum(),
+                    100.0 * rejections.sum() / Math.max(1, adds.sum() + rejections.sum()), errors.sum());
+        }
+    }
+}
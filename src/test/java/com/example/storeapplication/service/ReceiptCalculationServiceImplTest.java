@@ -5,11 +5,15 @@ import com.example.storeapplication.enums.Category;
 import com.example.storeapplication.dto.ReceiptResponse;
 import com.example.storeapplication.repository.DealRepository;
 import com.example.storeapplication.service.impl.ReceiptCalculationServiceImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -21,6 +25,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +34,9 @@ class ReceiptCalculationServiceImplTest {
     @Mock
     private DealRepository dealRepository;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ReceiptCalculationServiceImpl receiptCalculationService;
 
@@ -272,4 +280,23 @@ class ReceiptCalculationServiceImplTest {
         assertEquals(0, BigDecimal.ZERO.compareTo(receipt.getSubtotal()));
         assertTrue(receipt.getAppliedDeals().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void calculateReceipt_ShouldRecordDealsEvaluatedAndPricingTime() {
+        // Arrange
+        when(dealRepository.findActiveDealsForProduct(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.of(testDeal1));
+        when(dealRepository.findActiveDealsForProduct(eq(2L), any(LocalDateTime.class)))
+                .thenReturn(List.of(testDeal2));
+
+        // Act
+        receiptCalculationService.calculateReceipt(testBasket);
+
+        // Assert
+        DistributionSummary deals = meterRegistry.get("store.receipt.deals.evaluated")
+                .tag("outcome", "discounted").summary();
+        assertEquals(1, deals.count());
+        assertEquals(2, deals.totalAmount());
+        assertEquals(1, meterRegistry.get("store.receipt.pricing").tag("outcome", "discounted").timer().count());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.storeapplication.session;
+
+import com.example.storeapplication.StoreapplicationApplication;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.repository.ProductRepository;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of {@code POST /customer/basket/add} in both basket identity
+ * modes. Not part of the regular build (surefire only picks up {@code *Test}
+ * classes); run it explicitly:
+ * <pre>
+ * mvn test -Dtest=BasketIdentityBenchmark -Dcheckstyle.skip
+ * </pre>
+ * Each client keeps its own cookie jar, so every client owns one basket for
+ * the whole run, like a real shopper.
+ */
+class BasketIdentityBenchmark {
+
+    private static final int CLIENTS = 16;
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"session", "token"})
+    void addToBasket(String mode) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StoreapplicationApplication.class)
+                .properties(
+                        "server.port=0",
+                        "store.basket.identity=" + mode,
+                        "store.basket.token.secret=benchmark-secret-benchmark-secret",
+                        "store.rate-limit.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run()) {
+
+            Product product = context.getBean(ProductRepository.class)
+                    .save(new Product("Benchmark", "Benchmark product", BigDecimal.TEN, Category.ELECTRONICS, Integer.MAX_VALUE));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/customer/basket/add");
+            String body = "{\"productId\":" + product.getId() + ",\"quantity\":1}";
+
+            run(uri, body, WARMUP);
+            Result result = run(uri, body, MEASUREMENT);
+
+            System.out.printf("basket identity=%-7s clients=%d requests=%d errors=%d throughput=%.1f req/s%n",
+                    mode, CLIENTS, result.requests(), result.errors(),
+                    result.requests() / (MEASUREMENT.toMillis() / 1000.0));
+            assertEquals(0, result.errors());
+        }
+    }
+
+    private Result run(URI uri, String body, Duration duration) throws Exception {
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    while (System.nanoTime() < deadline) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        requests.increment();
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(requests.sum(), errors.sum());
+    }
+
+    private record Result(long requests, long errors) {
+    }
+}
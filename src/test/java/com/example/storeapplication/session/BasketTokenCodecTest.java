@@ -0,0 +1,60 @@
+package com.example.storeapplication.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BasketTokenCodecTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private final BasketTokenCodec codec = new BasketTokenCodec(SECRET);
+
+    @Test
+    void verify_IssuedToken_ShouldReturnBasketId() {
+        // Arrange
+        String basketId = codec.newBasketId();
+
+        // Act
+        Optional<String> verified = codec.verify(codec.issue(basketId));
+
+        // Assert
+        assertEquals(Optional.of(basketId), verified);
+    }
+
+    @Test
+    void verify_TamperedBasketId_ShouldReturnEmpty() {
+        // Arrange
+        String token = codec.issue("basket-a");
+        String forged = codec.issue("basket-b").split("\\.")[0] + "." + token.split("\\.")[1];
+
+        // Act & Assert
+        assertTrue(codec.verify(forged).isEmpty());
+    }
+
+    @Test
+    void verify_TokenFromOtherSecret_ShouldReturnEmpty() {
+        // Arrange
+        BasketTokenCodec other = new BasketTokenCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertTrue(codec.verify(other.issue("basket-a")).isEmpty());
+    }
+
+    @Test
+    void verify_MalformedToken_ShouldReturnEmpty() {
+        assertTrue(codec.verify(null).isEmpty());
+        assertTrue(codec.verify("").isEmpty());
+        assertTrue(codec.verify("no-separator").isEmpty());
+        assertTrue(codec.verify("a.b.c").isEmpty());
+        assertTrue(codec.verify("!!!.???").isEmpty());
+    }
+
+    @Test
+    void constructor_ShortSecret_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new BasketTokenCodec(new byte[8]));
+    }
+}
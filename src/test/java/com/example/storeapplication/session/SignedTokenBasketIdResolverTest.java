@@ -0,0 +1,120 @@
+package com.example.storeapplication.session;
+
+import com.example.storeapplication.config.BasketTokenProperties;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignedTokenBasketIdResolverTest {
+
+    private BasketTokenProperties properties;
+    private SignedTokenBasketIdResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BasketTokenProperties();
+        properties.setSecret("0123456789abcdef0123456789abcdef");
+        resolver = new SignedTokenBasketIdResolver(properties);
+    }
+
+    @Test
+    void resolve_WithoutToken_ShouldIssueTokenWithoutCreatingSession() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        String basketId = resolver.resolve(request, response);
+
+        // Assert
+        assertNotNull(basketId);
+        assertNull(request.getSession(false));
+        assertNotNull(response.getHeader(SignedTokenBasketIdResolver.HEADER));
+        assertTrue(response.getHeader(HttpHeaders.SET_COOKIE).startsWith(SignedTokenBasketIdResolver.COOKIE + "="));
+    }
+
+    @Test
+    void resolve_WithIssuedToken_ShouldReturnSameBasketId() {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        String basketId = resolver.resolve(new MockHttpServletRequest(), first);
+        String token = first.getHeader(SignedTokenBasketIdResolver.HEADER);
+
+        MockHttpServletRequest viaHeader = new MockHttpServletRequest();
+        viaHeader.addHeader(SignedTokenBasketIdResolver.HEADER, token);
+        MockHttpServletRequest viaCookie = new MockHttpServletRequest();
+        viaCookie.setCookies(new Cookie(SignedTokenBasketIdResolver.COOKIE, token));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act & Assert
+        assertEquals(basketId, resolver.resolve(viaHeader, response));
+        assertEquals(basketId, resolver.resolve(viaCookie, response));
+        assertNull(response.getHeader(SignedTokenBasketIdResolver.HEADER));
+    }
+
+    @Test
+    void resolve_WithForgedToken_ShouldIssueNewBasketId() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(SignedTokenBasketIdResolver.HEADER, "dmljdGlt.AAAAAAAAAAAAAAAAAAAAAA");
+
+        // Act
+        String basketId = resolver.resolve(request, new MockHttpServletResponse());
+
+        // Assert
+        assertNotEquals("victim", basketId);
+    }
+
+    @Test
+    void resolve_WithLegacySessionCookie_ShouldKeepSessionIdAsBasketId() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestedSessionId("LEGACY-SESSION-ID");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        String basketId = resolver.resolve(request, response);
+
+        // Assert
+        assertEquals("LEGACY-SESSION-ID", basketId);
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.addHeader(SignedTokenBasketIdResolver.HEADER, response.getHeader(SignedTokenBasketIdResolver.HEADER));
+        assertEquals(Optional.of("LEGACY-SESSION-ID"), resolver.peek(next));
+    }
+
+    @Test
+    void peek_WithUnknownLegacySessionCookie_ShouldIgnoreIt() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestedSessionId("RANDOM-SESSION-ID");
+        request.setRequestedSessionIdValid(false);
+
+        // Act
+        Optional<String> basketId = resolver.peek(request);
+
+        // Assert
+        assertEquals(Optional.empty(), basketId);
+        assertNotEquals("RANDOM-SESSION-ID", resolver.resolve(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void resolve_WithLegacySessionCookieAfterMigration_ShouldIgnoreIt() {
+        // Arrange
+        properties.setAcceptLegacySessionIds(false);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestedSessionId("LEGACY-SESSION-ID");
+
+        // Act
+        String basketId = resolver.resolve(request, new MockHttpServletResponse());
+
+        // Assert
+        assertNotEquals("LEGACY-SESSION-ID", basketId);
+    }
+}
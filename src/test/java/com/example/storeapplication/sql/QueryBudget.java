@@ -0,0 +1,69 @@
+package com.example.storeapplication.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query budget assertions for tests running with
+ * {@code store.sql-diagnostics.enabled=true}.
+ * <pre>
+ * mockMvc.perform(get("/customer/products")).andExpect(QueryBudget.atMost(2));
+ * SqlStatementScope scope = QueryBudget.atMost(5, () -&gt; mockMvc.perform(...));
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Fails when the response reports more than {@code statements} statements
+     * in its {@value SqlStatementFilter#HEADER} header.
+     */
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementFilter.HEADER);
+            assertNotNull(header, SqlStatementFilter.HEADER + " header missing; is store.sql-diagnostics.enabled set?");
+            int actual = Integer.parseInt(header);
+            if (actual > statements) {
+                fail(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                        + " prepared " + actual + " statements, budget is " + statements);
+            }
+        };
+    }
+
+    /**
+     * Runs {@code action} on the current thread and fails, listing every
+     * statement, when it prepares more than {@code statements} statements.
+     *
+     * @return the scope, for further assertions on individual statements
+     */
+    public static SqlStatementScope atMost(int statements, Callable<?> action) throws Exception {
+        SqlStatementScope scope = record(action);
+        if (scope.getCount() > statements) {
+            fail("Prepared " + scope.getCount() + " statements, budget is " + statements + ":\n"
+                    + scope.getStatements().entrySet().stream()
+                    .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                    .collect(Collectors.joining("\n")));
+        }
+        return scope;
+    }
+
+    /**
+     * @return the statements {@code action} prepared on the current thread
+     */
+    public static SqlStatementScope record(Callable<?> action) throws Exception {
+        SqlStatementScope scope = SqlStatementCounter.open("test");
+        try {
+            action.call();
+        } finally {
+            scope.close();
+        }
+        return scope;
+    }
+}
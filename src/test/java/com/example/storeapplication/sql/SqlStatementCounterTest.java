@@ -0,0 +1,58 @@
+package com.example.storeapplication.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCounterTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    void inspect_NestedScopes_ShouldCountTowardsEveryOpenScope() {
+        // Arrange
+        SqlStatementScope outer = SqlStatementCounter.open("request");
+        counter.inspect("select 1");
+        SqlStatementScope inner = SqlStatementCounter.open("method");
+
+        // Act
+        String returned = counter.inspect("select 2");
+        inner.close();
+        counter.inspect("select 3");
+        outer.close();
+
+        // Assert
+        assertEquals("select 2", returned);
+        assertEquals(3, outer.getCount());
+        assertEquals(1, inner.getCount());
+    }
+
+    @Test
+    void inspect_NoOpenScope_ShouldPassStatementThrough() {
+        // Act
+        String returned = counter.inspect("select 1");
+
+        // Assert
+        assertEquals("select 1", returned);
+    }
+
+    @Test
+    void repeatedMoreThan_ShouldReturnStatementsAboveThreshold() {
+        // Arrange
+        SqlStatementScope scope = SqlStatementCounter.open("receipt");
+        for (int i = 0; i < 4; i++) {
+            counter.inspect("select d from deals d where d.product_id=?");
+        }
+        counter.inspect("select b from baskets b where b.session_id=?");
+        scope.close();
+
+        // Act
+        Map<String, Integer> repeated = scope.repeatedMoreThan(3);
+
+        // Assert
+        assertEquals(Map.of("select d from deals d where d.product_id=?", 4), repeated);
+        assertEquals(5, scope.getCount());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.storeapplication.sql;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.repository.DealRepository;
+import com.example.storeapplication.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets for the customer endpoints. A budget failing here means a
+ * change added statements to a hot path; raise it only deliberately.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqldiagnostics",
+        "spring.jpa.show-sql=false",
+        "store.sql-diagnostics.enabled=true",
+        "store.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+class SqlStatementDiagnosticsTest {
+
+    private static final int BASKET_SIZE = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            Product product = productRepository.save(new Product("Budget product " + i, "Description",
+                    new BigDecimal("10.00"), Category.ELECTRONICS, 100));
+            dealRepository.save(Deal.builder()
+                    .product(product)
+                    .description("10% off")
+                    .buyQuantity(1)
+                    .discountPercentage(BigDecimal.TEN)
+                    .expirationDate(LocalDateTime.now().plusDays(1))
+                    .build());
+            products.add(product);
+        }
+    }
+
+    @Test
+    void getProducts_ShouldReportStatementCountWithinBudget() throws Exception {
+        mockMvc.perform(get("/customer/products").param("category", "ELECTRONICS")
+                        .param("minPrice", "0").param("maxPrice", "100").param("available", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementFilter.HEADER))
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void addToBasket_ShouldStayWithinQueryBudget() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+
+        mockMvc.perform(addRequest(session, products.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(6));
+    }
+
+    @Test
+    void getReceipt_ShouldFlagPerItemDealLookups() throws Exception {
+        // Arrange
+        MockHttpSession session = new MockHttpSession();
+        for (Product product : products) {
+            mockMvc.perform(addRequest(session, product)).andExpect(status().isOk());
+        }
+
+        // Act
+        SqlStatementScope scope = QueryBudget.atMost(2 + BASKET_SIZE, () -> mockMvc
+                .perform(get("/customer/basket/receipt").session(session))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2 + BASKET_SIZE)));
+
+        // Assert
+        Map<String, Integer> repeated = scope.repeatedMoreThan(BASKET_SIZE - 1);
+        assertEquals(1, repeated.size(), () -> "Expected the per-item deal lookup, saw " + scope.getStatements());
+        assertTrue(repeated.keySet().iterator().next().contains("deals"));
+    }
+
+    private static RequestBuilder addRequest(MockHttpSession session, Product product) {
+        return post("/customer/basket/add").session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productId\":" + product.getId() + ",\"quantity\":1}");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.storeapplication.stream;
+
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.repository.ProductRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Open stock streams must not pin database connections: with more streams
+ * open than the pool has connections, other requests still get one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockstreamconnections",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "spring.jpa.show-sql=false",
+        "store.rate-limit.enabled=false",
+        "store.tracing.enabled=false",
+        // Lets the server notice closed streams quickly so shutdown does not wait for them
+        "store.stock-stream.heartbeat-interval=100ms",
+        "store.stock-stream.flush-interval=50ms",
+        "store.stock-stream.max-products-per-subscriber=2"
+})
+class StockStreamConnectionTest {
+
+    private static final int STREAMS = 6;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private StockStreamHub stockStreamHub;
+
+    @Test
+    void streams_MoreThanPoolSize_ShouldNotHoldConnections() throws Exception {
+        // Arrange
+        Product product = productRepository.save(new Product("Streamed", "Description", BigDecimal.TEN,
+                Category.ELECTRONICS, 10));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<HttpResponse<InputStream>> streams = new ArrayList<>();
+
+        try {
+            // Act
+            for (int i = 0; i < STREAMS; i++) {
+                streams.add(client.sendAsync(HttpRequest.newBuilder(
+                                        uri("/customer/products/stock-stream?productIds=" + product.getId())).build(),
+                                HttpResponse.BodyHandlers.ofInputStream())
+                        .get(10, TimeUnit.SECONDS));
+            }
+            HttpResponse<String> listing = client.send(HttpRequest.newBuilder(uri("/customer/products"
+                            + "?category=ELECTRONICS&minPrice=0&maxPrice=100&available=true")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            // Assert
+            streams.forEach(stream -> assertEquals(200, stream.statusCode()));
+            assertEquals(200, listing.statusCode(), listing.body());
+            assertEquals(0, dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections());
+        } finally {
+            for (HttpResponse<InputStream> stream : streams) {
+                stream.body().close();
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (stockStreamHub.subscriberCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    @Test
+    void stream_TooManyProducts_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        // Act
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        uri("/customer/products/stock-stream?productIds=1,2,3")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        assertEquals(400, response.statusCode(), response.body());
+        assertEquals(0, stockStreamHub.subscriberCount());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
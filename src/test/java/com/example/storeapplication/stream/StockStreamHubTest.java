@@ -0,0 +1,327 @@
+package com.example.storeapplication.stream;
+
+import com.example.storeapplication.config.StockStreamProperties;
+import com.example.storeapplication.dto.StockLevelResponse;
+import com.example.storeapplication.event.StockChangedEvent;
+import com.example.storeapplication.exception.InvalidStreamRequestException;
+import com.example.storeapplication.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockStreamHubTest {
+
+    private static final Function<Collection<Long>, List<StockLevelResponse>> NO_LEVELS = ids -> List.of();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<Runnable> queuedSends = new ArrayList<>();
+
+    private StockStreamProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StockStreamProperties();
+        properties.setMaxSubscribers(2);
+        properties.setMaxProductsPerSubscriber(3);
+    }
+
+    @Test
+    void flush_NewSubscriber_ShouldSendCurrentLevels() {
+        // Arrange
+        StockStreamHub hub = new StockStreamHub(properties, Runnable::run, clock::get);
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L, 2L), ids -> List.of(new StockLevelResponse(1L, 5, 0)));
+
+        // Act
+        hub.flush();
+
+        // Assert
+        assertEquals(List.of(List.of(new StockLevelResponse(1L, 5, 0))), emitter.batches);
+    }
+
+    @Test
+    void onStockChanged_RepeatedChanges_ShouldCoalesceIntoOneEntry() {
+        // Arrange
+        StockStreamHub hub = new StockStreamHub(properties, Runnable::run, clock::get);
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L), NO_LEVELS);
+
+        // Act
+        hub.onStockChanged(new StockChangedEvent(1L, 8, -2));
+        hub.onStockChanged(new StockChangedEvent(1L, 5, -3));
+        hub.onStockChanged(new StockChangedEvent(1L, 6, 1));
+        hub.flush();
+
+        // Assert
+        assertEquals(List.of(List.of(new StockLevelResponse(1L, 6, -4))), emitter.batches);
+    }
+
+    @Test
+    void onStockChanged_UnwatchedProduct_ShouldNotSendAnything() {
+        // Arrange
+        StockStreamHub hub = new StockStreamHub(properties, Runnable::run, clock::get);
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L), NO_LEVELS);
+
+        // Act
+        hub.onStockChanged(new StockChangedEvent(2L, 3, -1));
+        hub.flush();
+
+        // Assert
+        assertTrue(emitter.batches.isEmpty());
+    }
+
+    @Test
+    void flush_SendQueued_ShouldKeepMergingWithoutDroppingSubscriber() {
+        // Arrange
+        Executor queued = queuedSends::add;
+        StockStreamHub hub = new StockStreamHub(properties, queued, clock::get);
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L), NO_LEVELS);
+        hub.onStockChanged(new StockChangedEvent(1L, 9, -1));
+        hub.flush();
+
+        // Act
+        hub.onStockChanged(new StockChangedEvent(1L, 8, -1));
+        clock.addAndGet(properties.getSlowConsumerTimeout().plusSeconds(1).toNanos());
+        hub.flush();
+        int queuedWhileBusy = queuedSends.size();
+        queuedSends.remove(0).run();
+        hub.flush();
+        queuedSends.remove(0).run();
+
+        // Assert
+        assertEquals(1, queuedWhileBusy);
+        assertEquals(List.of(List.of(new StockLevelResponse(1L, 9, -1)), List.of(new StockLevelResponse(1L, 8, -1))),
+                emitter.batches);
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(0, hub.droppedSlowConsumerCount());
+    }
+
+    @Test
+    void flush_WriteStuck_ShouldDropWithoutBlockingAndCloseFromSender() throws Exception {
+        // Arrange
+        ExecutorService senders = Executors.newFixedThreadPool(1);
+        StockStreamHub hub = new StockStreamHub(properties, senders, clock::get);
+        BlockingEmitter emitter = new BlockingEmitter();
+        hub.register(emitter, List.of(1L), NO_LEVELS);
+        hub.onStockChanged(new StockChangedEvent(1L, 9, -1));
+        hub.flush();
+        assertTrue(emitter.writing.await(5, TimeUnit.SECONDS));
+
+        try {
+            // Act
+            clock.addAndGet(properties.getSlowConsumerTimeout().plusSeconds(1).toNanos());
+            assertTimeoutPreemptively(Duration.ofSeconds(5), hub::flush);
+
+            // Assert
+            assertEquals(0, hub.subscriberCount());
+            assertEquals(1, hub.droppedSlowConsumerCount());
+            assertEquals(1, emitter.completed.getCount());
+            emitter.release.countDown();
+            assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            emitter.release.countDown();
+            senders.shutdownNow();
+        }
+    }
+
+    @Test
+    void flush_AllSendersBlocked_ShouldOnlyDropTheBlockedClients() throws Exception {
+        // Arrange
+        properties.setMaxSubscribers(4);
+        ExecutorService senders = Executors.newFixedThreadPool(2);
+        StockStreamHub hub = new StockStreamHub(properties, senders, clock::get);
+        List<BlockingEmitter> blocked = List.of(new BlockingEmitter(), new BlockingEmitter());
+        List<RecordingEmitter> healthy = List.of(new RecordingEmitter(), new RecordingEmitter());
+        blocked.forEach(emitter -> hub.register(emitter, List.of(1L), NO_LEVELS));
+        hub.onStockChanged(new StockChangedEvent(1L, 9, -1));
+        hub.flush();
+        for (BlockingEmitter emitter : blocked) {
+            assertTrue(emitter.writing.await(5, TimeUnit.SECONDS));
+        }
+        healthy.forEach(emitter -> hub.register(emitter, List.of(2L), NO_LEVELS));
+        hub.onStockChanged(new StockChangedEvent(2L, 4, -1));
+        hub.flush();
+
+        try {
+            // Act
+            clock.addAndGet(properties.getSlowConsumerTimeout().plusSeconds(1).toNanos());
+            hub.flush();
+            blocked.forEach(emitter -> emitter.release.countDown());
+            senders.shutdown();
+            assertTrue(senders.awaitTermination(5, TimeUnit.SECONDS));
+
+            // Assert
+            assertEquals(2, hub.droppedSlowConsumerCount());
+            assertEquals(2, hub.subscriberCount());
+            for (RecordingEmitter emitter : healthy) {
+                assertEquals(List.of(List.of(new StockLevelResponse(2L, 4, -1))), emitter.batches);
+            }
+        } finally {
+            blocked.forEach(emitter -> emitter.release.countDown());
+            senders.shutdownNow();
+        }
+    }
+
+    @Test
+    void flush_SendRejected_ShouldKeepChangesForNextFlush() {
+        // Arrange
+        AtomicBoolean saturated = new AtomicBoolean(true);
+        Executor bounded = command -> {
+            if (saturated.get()) {
+                throw new RejectedExecutionException("queue full");
+            }
+            command.run();
+        };
+        StockStreamHub hub = new StockStreamHub(properties, bounded, clock::get);
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L), NO_LEVELS);
+        hub.onStockChanged(new StockChangedEvent(1L, 8, -2));
+
+        // Act
+        hub.flush();
+        hub.onStockChanged(new StockChangedEvent(1L, 7, -1));
+        saturated.set(false);
+        hub.flush();
+
+        // Assert
+        assertEquals(List.of(List.of(new StockLevelResponse(1L, 7, -3))), emitter.batches);
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test
+    void flush_SendFails_ShouldRemoveSubscriber() {
+        // Arrange
+        StockStreamHub hub = new StockStreamHub(properties, Runnable::run, clock::get);
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failSends = true;
+        hub.register(emitter, List.of(1L), NO_LEVELS);
+        hub.onStockChanged(new StockChangedEvent(1L, 4, -1));
+
+        // Act
+        hub.flush();
+        hub.onStockChanged(new StockChangedEvent(1L, 3, -1));
+
+        // Assert
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void flush_IdleSubscriber_ShouldSendHeartbeat() {
+        // Arrange
+        StockStreamHub hub = new StockStreamHub(properties, Runnable::run, clock::get);
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, List.of(1L), NO_LEVELS);
+
+        // Act
+        hub.flush();
+        clock.addAndGet(properties.getHeartbeatInterval().plusSeconds(1).toNanos());
+        hub.flush();
+
+        // Assert
+        assertTrue(emitter.batches.isEmpty());
+        assertEquals(1, emitter.heartbeats);
+    }
+
+    @Test
+    void register_TooManyProducts_ShouldThrowException() {
+        // Arrange
+        StockStreamHub hub = new StockStreamHub(properties, Runnable::run, clock::get);
+
+        // Act & Assert
+        assertThrows(InvalidStreamRequestException.class,
+                () -> hub.register(new RecordingEmitter(), List.of(1L, 2L, 3L, 4L), NO_LEVELS));
+        assertThrows(InvalidStreamRequestException.class,
+                () -> hub.register(new RecordingEmitter(), List.of(), NO_LEVELS));
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void register_TooManySubscribers_ShouldThrowServiceOverloaded() {
+        // Arrange
+        StockStreamHub hub = new StockStreamHub(properties, Runnable::run, clock::get);
+        hub.register(new RecordingEmitter(), Set.of(1L), NO_LEVELS);
+        hub.register(new RecordingEmitter(), Set.of(1L), NO_LEVELS);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class,
+                () -> hub.register(new RecordingEmitter(), Set.of(1L), NO_LEVELS));
+        assertEquals(2, hub.subscriberCount());
+    }
+
+    /**
+     * Mirrors {@code ResponseBodyEmitter}, whose {@code send} and
+     * {@code complete} share a monitor: a write stuck on the socket keeps
+     * {@code complete} waiting.
+     */
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<List<?>> batches = new ArrayList<>();
+
+        private int heartbeats;
+
+        private boolean failSends;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            boolean hasData = false;
+            for (var part : builder.build()) {
+                if (part.getData() instanceof List<?> batch) {
+                    batches.add(batch);
+                    hasData = true;
+                }
+            }
+            if (!hasData) {
+                heartbeats++;
+            }
+        }
+    }
+}
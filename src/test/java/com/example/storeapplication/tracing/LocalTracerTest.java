@@ -0,0 +1,167 @@
+package com.example.storeapplication.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTracerTest {
+
+    private static final List<String> ROOTS = List.of("http.server.requests");
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final TraceStore store = new TraceStore(3);
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void onStop_NestedObservations_ShouldRecordSpanTree() {
+        // Arrange
+        ObservationRegistry registry = registry(1.0, 10);
+
+        // Act
+        Observation root = Observation.createNotStarted("http.server.requests", registry)
+                .contextualName("http get /receipt").start();
+        try (Observation.Scope ignored = root.openScope()) {
+            advance(1);
+            Observation service = span(registry, "service", "CustomerServiceImpl.calculateReceipt");
+            try (Observation.Scope ignoredToo = service.openScope()) {
+                advance(2);
+                span(registry, "sql", "select * from deals").stop();
+                advance(3);
+            }
+            service.stop();
+        }
+        advance(1);
+        root.stop();
+
+        // Assert
+        TraceRecord trace = store.recent(1).get(0);
+        assertEquals("http get /receipt", trace.name());
+        assertEquals(7.0, trace.durationMs());
+        assertEquals(clock.instant(), trace.startedAt());
+        List<SpanRecord> spans = trace.spans();
+        assertEquals(List.of("http.server.requests", "service", "sql"), spans.stream().map(SpanRecord::layer).toList());
+        assertEquals(-1, spans.get(0).parentId());
+        assertEquals(spans.get(0).id(), spans.get(1).parentId());
+        assertEquals(spans.get(1).id(), spans.get(2).parentId());
+        assertEquals(5.0, spans.get(1).durationMs());
+        assertEquals(3.0, spans.get(2).startMs());
+    }
+
+    @Test
+    void onStart_NotSampled_ShouldRecordNothing() {
+        // Arrange
+        ObservationRegistry registry = registry(0.0, 10);
+
+        // Act
+        Observation root = Observation.start("http.server.requests", registry);
+        boolean sampled;
+        try (Observation.Scope ignored = root.openScope()) {
+            sampled = new LocalTracer(store, ROOTS, 1.0, 10).isSampled(registry.getCurrentObservation());
+            span(registry, "service", "CustomerServiceImpl.addToBasket").stop();
+        }
+        root.stop();
+
+        // Assert
+        assertFalse(sampled);
+        assertTrue(store.recent(10).isEmpty());
+    }
+
+    @Test
+    void onStart_ScheduledTaskRoot_ShouldNotStartTrace() {
+        // Arrange
+        ObservationRegistry registry = registry(1.0, 10);
+
+        // Act
+        Observation task = Observation.start("tasks.scheduled.execution", registry);
+        try (Observation.Scope ignored = task.openScope()) {
+            span(registry, "repository", "DealRepository.findDueDeals").stop();
+        }
+        task.stop();
+
+        // Assert
+        assertTrue(store.recent(10).isEmpty());
+    }
+
+    @Test
+    void onStop_TooManySpans_ShouldCountDroppedAndKeepRoot() {
+        // Arrange
+        ObservationRegistry registry = registry(1.0, 2);
+
+        // Act
+        Observation root = Observation.start("http.server.requests", registry);
+        try (Observation.Scope ignored = root.openScope()) {
+            for (int i = 0; i < 4; i++) {
+                span(registry, "repository", "DealRepository.findActiveDealsForProduct").stop();
+            }
+        }
+        root.stop();
+
+        // Assert
+        TraceRecord trace = store.recent(1).get(0);
+        assertEquals(3, trace.spans().size());
+        assertEquals(2, trace.droppedSpans());
+        assertEquals(-1, trace.spans().get(0).parentId());
+    }
+
+    @Test
+    void onError_ShouldRecordExceptionType() {
+        // Arrange
+        ObservationRegistry registry = registry(1.0, 10);
+
+        // Act
+        Observation root = Observation.start("http.server.requests", registry);
+        root.error(new IllegalStateException("boom"));
+        root.stop();
+
+        // Assert
+        assertEquals("IllegalStateException", store.recent(1).get(0).spans().get(0).error());
+    }
+
+    @Test
+    void slowest_ShouldReturnLongestOfRetainedTraces() {
+        // Arrange
+        ObservationRegistry registry = registry(1.0, 10);
+        for (long millis : new long[]{5, 1, 9, 3}) {
+            Observation root = Observation.createNotStarted("http.server.requests", registry)
+                    .contextualName("request " + millis).start();
+            advance(millis);
+            root.stop();
+        }
+
+        // Act
+        List<TraceRecord> slowest = store.slowest(2);
+
+        // Assert: capacity 3 has already dropped the 5 ms trace
+        assertEquals(List.of("request 9", "request 3"), slowest.stream().map(TraceRecord::name).toList());
+        assertEquals(List.of("request 3", "request 9", "request 1"),
+                store.recent(10).stream().map(TraceRecord::name).toList());
+    }
+
+    private ObservationRegistry registry(double sampleRate, int maxSpans) {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(
+                new LocalTracer(store, ROOTS, sampleRate, maxSpans, nanos::get, clock, () -> 0.5));
+        return registry;
+    }
+
+    private static Observation span(ObservationRegistry registry, String layer, String name) {
+        return Observation.createNotStarted(TracingAspect.SPAN, registry)
+                .contextualName(name)
+                .lowCardinalityKeyValue(LocalTracer.LAYER, layer)
+                .start();
+    }
+
+    private void advance(long millis) {
+        nanos.addAndGet(millis * 1_000_000);
+    }
+}
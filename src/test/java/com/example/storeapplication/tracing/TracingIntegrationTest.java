@@ -0,0 +1,114 @@
+package com.example.storeapplication.tracing;
+
+import com.example.storeapplication.domain.Deal;
+import com.example.storeapplication.domain.Product;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.repository.DealRepository;
+import com.example.storeapplication.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tracing",
+        "spring.jpa.show-sql=false",
+        "store.tracing.enabled=true",
+        "store.tracing.sample-rate=1.0",
+        "store.rate-limit.enabled=false",
+        "management.endpoints.web.exposure.include=traces"
+})
+@AutoConfigureMockMvc
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private TraceStore traceStore;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(new Product("Traced product", "Description",
+                new BigDecimal("10.00"), Category.ELECTRONICS, 100));
+        dealRepository.save(Deal.builder()
+                .product(product)
+                .description("10% off")
+                .buyQuantity(1)
+                .discountPercentage(BigDecimal.TEN)
+                .expirationDate(LocalDateTime.now().plusDays(1))
+                .build());
+        traceStore.clear();
+    }
+
+    @Test
+    void getReceipt_ShouldRecordSpansForEveryLayer() throws Exception {
+        // Arrange
+        MockHttpSession session = new MockHttpSession();
+        mockMvc.perform(post("/customer/basket/add").session(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\":" + product.getId() + ",\"quantity\":1}"))
+                .andExpect(status().isOk());
+
+        // Act
+        mockMvc.perform(get("/customer/basket/receipt").session(session)).andExpect(status().isOk());
+
+        // Assert
+        TraceRecord receipt = traceStore.recent(10).stream()
+                .filter(trace -> trace.name().contains("/customer/basket/receipt"))
+                .findFirst().orElseThrow();
+        Map<String, List<String>> byLayer = receipt.spans().stream()
+                .collect(Collectors.groupingBy(SpanRecord::layer,
+                        Collectors.mapping(SpanRecord::name, Collectors.toList())));
+        assertTrue(byLayer.get("controller").contains("CustomerController.getReceipt"), byLayer::toString);
+        assertTrue(byLayer.get("service").contains("CustomerServiceImpl.calculateReceipt"), byLayer::toString);
+        assertTrue(byLayer.get("service").contains("ReceiptCalculationServiceImpl.calculateReceipt"), byLayer::toString);
+        assertTrue(byLayer.get("repository").contains("DealRepository.findActiveDealsForProduct"), byLayer::toString);
+        assertTrue(byLayer.get("sql").stream().anyMatch(sql -> sql.contains("deals")), byLayer::toString);
+
+        SpanRecord dealQuery = receipt.spans().stream()
+                .filter(span -> span.layer().equals("sql") && span.name().contains("deals"))
+                .findFirst().orElseThrow();
+        SpanRecord dealLookup = receipt.spans().stream()
+                .filter(span -> span.id() == dealQuery.parentId())
+                .findFirst().orElseThrow();
+        assertEquals("DealRepository.findActiveDealsForProduct", dealLookup.name());
+    }
+
+    @Test
+    void slowTracesEndpoint_ShouldServeRecordedTraces() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/customer/products")).andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/traces/slow").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", startsWith("http get")))
+                .andExpect(jsonPath("$[0].spans[0].parentId").value(-1));
+    }
+}
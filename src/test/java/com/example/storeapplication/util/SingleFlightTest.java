@@ -0,0 +1,131 @@
+package com.example.storeapplication.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void execute_ConcurrentCallers_ShouldShareOneExecution() throws Exception {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(0, System::nanoTime);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    executions.incrementAndGet();
+                    return -1;
+                })));
+            }
+            while (singleFlight.coalescedCount() < 7) {
+                Thread.onSpinWait();
+            }
+
+            // Act
+            release.countDown();
+
+            // Assert
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> follower : followers) {
+                assertEquals(42, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(1, singleFlight.executedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WithinGrace_ShouldReuseResult() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(100, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        singleFlight.execute("key", executions::incrementAndGet);
+
+        // Act
+        clock.addAndGet(99);
+        int withinGrace = singleFlight.execute("key", executions::incrementAndGet);
+        clock.addAndGet(1);
+        int afterGrace = singleFlight.execute("key", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(1, withinGrace);
+        assertEquals(2, afterGrace);
+        assertEquals(1, singleFlight.graceHitCount());
+    }
+
+    @Test
+    void execute_DifferentKeys_ShouldNotShare() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(1_000, clock::get);
+
+        // Act & Assert
+        assertEquals("a", singleFlight.execute("a", () -> "a"));
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+    }
+
+    @Test
+    void execute_WhenLoaderFails_ShouldNotKeepFailure() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(1_000, clock::get);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("database down");
+        }));
+        String retried = singleFlight.execute("key", () -> "recovered");
+
+        // Assert
+        assertEquals("recovered", retried);
+    }
+
+    @Test
+    void clear_ShouldForceNextCallToExecute() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(1_000, clock::get);
+        AtomicInteger executions = new AtomicInteger();
+        singleFlight.execute("key", executions::incrementAndGet);
+
+        // Act
+        singleFlight.clear();
+        int value = singleFlight.execute("key", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(2, value);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
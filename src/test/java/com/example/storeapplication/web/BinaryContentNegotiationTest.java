@@ -0,0 +1,133 @@
+package com.example.storeapplication.web;
+
+import com.example.storeapplication.config.BinaryFormatsConfig;
+import com.example.storeapplication.controller.CustomerController;
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.service.CustomerService;
+import com.example.storeapplication.session.HttpSessionBasketIdResolver;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class BinaryContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private MockMvc mockMvc;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+
+    @Mock
+    private CustomerService customerService;
+
+    @BeforeEach
+    void setUp() {
+        BinaryFormatsConfig config = new BinaryFormatsConfig();
+        MappingJackson2CborHttpMessageConverter cbor = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+        MappingJackson2SmileHttpMessageConverter smile = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json());
+        cborMapper = cbor.getObjectMapper();
+        smileMapper = smile.getObjectMapper();
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new CustomerController(customerService, new HttpSessionBasketIdResolver()))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), cbor, smile)
+                .build();
+    }
+
+    @Test
+    void getProducts_AcceptCbor_ShouldReturnSamePage() throws Exception {
+        // Arrange
+        PageResponse<ProductResponse> page = new PageResponse<>(List.of(new ProductResponse(1L, "Laptop",
+                "Gaming laptop", new BigDecimal("1200.00"), Category.ELECTRONICS, 10, true,
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5))), 0, 10, 1, 1);
+        when(customerService.getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(page);
+
+        // Act
+        byte[] body = mockMvc.perform(get("/customer/products").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        PageResponse<ProductResponse> decoded = cborMapper.readValue(body, new TypeReference<>() {
+        });
+        assertEquals(page, decoded);
+    }
+
+    @Test
+    void getReceipt_AcceptSmile_ShouldReturnSameReceipt() throws Exception {
+        // Arrange
+        ReceiptResponse receipt = new ReceiptResponse("test-session",
+                List.of(new ReceiptResponse.ReceiptItem(1L, "Laptop", new BigDecimal("1200.00"), 2,
+                        new BigDecimal("2400.00"))),
+                List.of(new ReceiptResponse.AppliedDeal("Buy 2 get 10% off", new BigDecimal("240.00"))),
+                new BigDecimal("2400.00"), new BigDecimal("240.00"), new BigDecimal("2160.00"),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        when(customerService.calculateReceipt(anyString())).thenReturn(receipt);
+
+        // Act
+        byte[] body = mockMvc.perform(get("/customer/basket/receipt").session(new MockHttpSession()).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertEquals(receipt, smileMapper.readValue(body, ReceiptResponse.class));
+    }
+
+    @Test
+    void addToBasket_CborBody_ShouldBeAccepted() throws Exception {
+        // Arrange
+        BasketItemRequest request = new BasketItemRequest(1L, 2);
+        when(customerService.addToBasket(anyString(), eq(request))).thenReturn("ok");
+
+        // Act & Assert
+        mockMvc.perform(post("/customer/basket/add").session(new MockHttpSession())
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk());
+        verify(customerService).addToBasket(anyString(), eq(request));
+    }
+
+    @Test
+    void getProducts_AcceptJson_ShouldStillReturnJson() throws Exception {
+        // Arrange
+        when(customerService.getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageResponse<>(List.of(), 0, 10, 0, 0));
+
+        // Act & Assert
+        mockMvc.perform(get("/customer/products").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
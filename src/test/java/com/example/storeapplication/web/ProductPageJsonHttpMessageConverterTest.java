@@ -0,0 +1,197 @@
+package com.example.storeapplication.web;
+
+import com.example.storeapplication.controller.CustomerController;
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.event.CatalogChangedEvent;
+import com.example.storeapplication.service.CustomerService;
+import com.example.storeapplication.session.HttpSessionBasketIdResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProductPageJsonHttpMessageConverterTest {
+
+    private static final Type PRODUCT_PAGE = new ParameterizedTypeReference<PageResponse<ProductResponse>>() {
+    }.getType();
+
+    private ObjectMapper objectMapper;
+    private ProductJsonCache cache;
+    private ProductPageJsonHttpMessageConverter converter;
+    private MappingJackson2HttpMessageConverter jackson;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new ProductJsonCache(objectMapper);
+        converter = new ProductPageJsonHttpMessageConverter(objectMapper, cache);
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Test
+    void write_ShouldMatchJacksonByteForByte() throws IOException {
+        // Arrange
+        PageResponse<ProductResponse> page = new PageResponse<>(products(), 2, 3, 9, 3);
+
+        // Act
+        byte[] spliced = write(page);
+        byte[] cached = write(page);
+
+        // Assert
+        byte[] expected = writeWithJackson(page);
+        assertArrayEquals(expected, spliced);
+        assertArrayEquals(expected, cached);
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void write_EmptyPage_ShouldMatchJackson() throws IOException {
+        // Arrange
+        PageResponse<ProductResponse> page = new PageResponse<>(List.of(), 0, 10, 0, 0);
+
+        // Act & Assert
+        assertArrayEquals(writeWithJackson(page), write(page));
+    }
+
+    @Test
+    void write_AfterProductChanged_ShouldNotServeStaleBytes() throws IOException {
+        // Arrange
+        List<ProductResponse> products = products();
+        PageResponse<ProductResponse> page = new PageResponse<>(products, 0, 3, 3, 1);
+        write(page);
+
+        // Act
+        products.get(0).setStock(0);
+        products.get(0).setAvailable(false);
+        products.get(1).setPrice(new BigDecimal("5.50"));
+        byte[] written = write(page);
+
+        // Assert
+        assertArrayEquals(writeWithJackson(page), written);
+    }
+
+    @Test
+    void onCatalogChanged_ShouldEvictProducts() throws IOException {
+        // Arrange
+        write(new PageResponse<>(products(), 0, 3, 3, 1));
+
+        // Act
+        cache.onCatalogChanged(new CatalogChangedEvent(List.of(1L, 2L)));
+
+        // Assert
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void toJson_WhenFull_ShouldEvictOneEntryAndKeepServedOnes() throws IOException {
+        // Arrange
+        for (long id = 1; id <= ProductJsonCache.MAX_ENTRIES; id++) {
+            cache.toJson(product(id));
+        }
+        byte[] served = cache.toJson(product(1L));
+        assertSame(served, cache.toJson(product(1L)));
+
+        // Act
+        cache.toJson(product(ProductJsonCache.MAX_ENTRIES + 1L));
+
+        // Assert
+        assertEquals(ProductJsonCache.MAX_ENTRIES, cache.size());
+        assertSame(served, cache.toJson(product(1L)));
+    }
+
+    @Test
+    void getProducts_ShouldBeWrittenFromCache() throws Exception {
+        // Arrange
+        PageResponse<ProductResponse> page = new PageResponse<>(products(), 0, 3, 3, 1);
+        CustomerService customerService = mock(CustomerService.class);
+        when(customerService.getProducts(any(), any(), any(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(page);
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new CustomerController(customerService, new HttpSessionBasketIdResolver()))
+                .setMessageConverters(converter, jackson)
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(get("/customer/products"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(writeWithJackson(page)));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void canWrite_ShouldOnlyAcceptProductPages() {
+        Type dealPage = new ParameterizedTypeReference<PageResponse<String>>() {
+        }.getType();
+
+        assertTrue(converter.canWrite(PRODUCT_PAGE, PageResponse.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(PRODUCT_PAGE, PageResponse.class, null));
+        assertFalse(converter.canWrite(PRODUCT_PAGE, PageResponse.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canWrite(dealPage, PageResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(PageResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(PRODUCT_PAGE, null, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void canWrite_WhenMapperIndents_ShouldDeferToJackson() {
+        // Arrange
+        ObjectMapper indenting = Jackson2ObjectMapperBuilder.json().indentOutput(true).build();
+        ProductPageJsonHttpMessageConverter indentingConverter =
+                new ProductPageJsonHttpMessageConverter(indenting, new ProductJsonCache(indenting));
+
+        // Act & Assert
+        assertTrue(indenting.isEnabled(SerializationFeature.INDENT_OUTPUT));
+        assertFalse(indentingConverter.canWrite(PRODUCT_PAGE, PageResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    private byte[] write(PageResponse<ProductResponse> page) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(page, PRODUCT_PAGE, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes();
+    }
+
+    private byte[] writeWithJackson(PageResponse<ProductResponse> page) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        jackson.write(page, PRODUCT_PAGE, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes();
+    }
+
+    private static List<ProductResponse> products() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000);
+        return new ArrayList<>(List.of(
+                new ProductResponse(1L, "Laptop", "Gaming \"pro\" laptop", new BigDecimal("1200.00"),
+                        Category.ELECTRONICS, 10, true, createdAt),
+                new ProductResponse(2L, "Café mug ☕", null, new BigDecimal("4.5"),
+                        Category.ACCESSORIES, 0, false, createdAt),
+                new ProductResponse(3L, "Cable", "Line\nbreak\tand \\ slash", BigDecimal.ONE,
+                        Category.ACCESSORIES, 100, true, null)
+        ));
+    }
+
+    private static ProductResponse product(long id) {
+        return new ProductResponse(id, "Product " + id, null, BigDecimal.TEN, Category.ELECTRONICS, 5, true, null);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.storeapplication.web;
+
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.enums.Category;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload size and encode/decode throughput of a 100-product page and a
+ * 20-line receipt in JSON, CBOR and Smile, using mappers configured like the
+ * application's converters. Not part of the regular build; run it with
+ * <pre>
+ * mvn test -Dtest=SerializationFormatBenchmark -Dcheckstyle.skip
+ * </pre>
+ */
+class SerializationFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    /** Keeps the JIT from discarding the measured work. */
+    private static volatile long blackhole;
+
+    @Test
+    void compareFormats() throws Exception {
+        Map<String, ObjectMapper> mappers = Map.of(
+                "json", Jackson2ObjectMapperBuilder.json().build(),
+                "cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build(),
+                "smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+        System.out.printf("%-8s %-7s %8s %14s %14s%n", "payload", "format", "bytes", "encode ops/s", "decode ops/s");
+        for (String format : List.of("json", "cbor", "smile")) {
+            measure("page", format, mappers.get(format), productPage(), PageResponse.class);
+        }
+        for (String format : List.of("json", "cbor", "smile")) {
+            measure("receipt", format, mappers.get(format), receipt(), ReceiptResponse.class);
+        }
+    }
+
+    private static void measure(String payload, String format, ObjectMapper mapper, Object value, Class<?> type)
+            throws Exception {
+        ObjectWriter writer = mapper.writerFor(type);
+        ObjectReader reader = mapper.readerFor(type);
+        byte[] bytes = writer.writeValueAsBytes(value);
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += writer.writeValueAsBytes(value).length;
+            sink += reader.readValue(bytes).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += writer.writeValueAsBytes(value).length;
+        }
+        double encodeSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += reader.readValue(bytes).hashCode();
+        }
+        double decodeSeconds = (System.nanoTime() - start) / 1e9;
+
+        blackhole = sink;
+
+        System.out.printf("%-8s %-7s %8d %14.0f %14.0f%n", payload, format, bytes.length,
+                MEASURED_ITERATIONS / encodeSeconds, MEASURED_ITERATIONS / decodeSeconds);
+    }
+
+    private static PageResponse<ProductResponse> productPage() {
+        List<ProductResponse> products = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0, 0);
+        for (long i = 1; i <= 100; i++) {
+            products.add(new ProductResponse(i, "Product " + i, "Description of product number " + i,
+                    BigDecimal.valueOf(1999 + i, 2), Category.values()[(int) (i % Category.values().length)],
+                    (int) (i * 3), i % 7 != 0, createdAt.plusMinutes(i)));
+        }
+        return new PageResponse<>(products, 0, 100, 5_000, 50);
+    }
+
+    private static ReceiptResponse receipt() {
+        List<ReceiptResponse.ReceiptItem> items = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            BigDecimal price = BigDecimal.valueOf(999 + i, 2);
+            items.add(new ReceiptResponse.ReceiptItem(i, "Product " + i, price, 2,
+                    price.multiply(BigDecimal.valueOf(2))));
+        }
+        return new ReceiptResponse("6F9619FF8B86D011B42D00C04FC964FF", items,
+                List.of(new ReceiptResponse.AppliedDeal("Buy 2 get 1 half price", new BigDecimal("5.00"))),
+                new BigDecimal("450.00"), new BigDecimal("5.00"), new BigDecimal("445.00"),
+                LocalDateTime.of(2024, 5, 1, 12, 30, 0));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.storeapplication.reactive;
+
+import com.example.storeapplication.exception.GlobalExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import(GlobalExceptionHandler.class)
+public class ReactiveStoreApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveStoreApplication.class, args);
+    }
+
+}
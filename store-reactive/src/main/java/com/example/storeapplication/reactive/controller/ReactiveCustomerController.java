@@ -0,0 +1,73 @@
+package com.example.storeapplication.reactive.controller;
+
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.reactive.service.ReactiveCustomerService;
+import com.example.storeapplication.reactive.web.BasketTokenResolver;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Same paths and bodies as the servlet {@code CustomerController}.
+ */
+@RestController
+@RequestMapping("/customer")
+@AllArgsConstructor
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerService customerService;
+
+    private final BasketTokenResolver basketTokenResolver;
+
+    @GetMapping("/products")
+    public Mono<ResponseEntity<PageResponse<ProductResponse>>> getProducts(
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        return customerService.getProducts(category, minPrice, maxPrice, available, page, size, sortBy, sortDir)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/basket/add")
+    public Mono<ResponseEntity<String>> addToBasket(
+            @Valid @RequestBody BasketItemRequest request,
+            ServerWebExchange exchange) {
+
+        String sessionId = basketTokenResolver.resolve(exchange);
+        return customerService.addToBasket(sessionId, request)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/basket/remove")
+    public Mono<ResponseEntity<String>> removeFromBasket(
+            @Valid @RequestBody BasketItemRequest request,
+            ServerWebExchange exchange) {
+
+        String sessionId = basketTokenResolver.resolve(exchange);
+        return customerService.removeFromBasket(sessionId, request)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/basket/receipt")
+    public Mono<ResponseEntity<ReceiptResponse>> getReceipt(ServerWebExchange exchange) {
+        String sessionId = basketTokenResolver.resolve(exchange);
+        return customerService.calculateReceipt(sessionId)
+                .map(ResponseEntity::ok);
+    }
+
+}
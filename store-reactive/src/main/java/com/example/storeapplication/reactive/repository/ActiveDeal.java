@@ -0,0 +1,7 @@
+package com.example.storeapplication.reactive.repository;
+
+import java.math.BigDecimal;
+
+public record ActiveDeal(Long id, Long productId, String description, int buyQuantity,
+                         BigDecimal discountPercentage, BigDecimal discountAmount, Integer getQuantity) {
+}
@@ -0,0 +1,6 @@
+package com.example.storeapplication.reactive.repository;
+
+import java.math.BigDecimal;
+
+public record BasketLine(Long productId, String productName, BigDecimal unitPrice, int quantity) {
+}
@@ -0,0 +1,10 @@
+package com.example.storeapplication.reactive.repository;
+
+import com.example.storeapplication.enums.Category;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ProductRow(Long id, String name, String description, BigDecimal price, Category category,
+                         int stock, boolean available, LocalDateTime createdAt) {
+}
@@ -0,0 +1,123 @@
+package com.example.storeapplication.reactive.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ids come from pooled sequences laid out like the servlet application's.
+ * Taking a whole {@code nextval} block for a single row wastes ids but keeps
+ * the increment compatible with Hibernate's pooled optimizer.
+ * <p>
+ * There is no lock serialising requests for one basket, so creating a basket
+ * or a line relies on the unique keys on {@code baskets(session_id)} and
+ * {@code basket_items(basket_id, product_id)}: an insert that loses the race
+ * does nothing and the row the winner wrote is used instead.
+ */
+@Repository
+@AllArgsConstructor
+public class ReactiveBasketRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Long> findIdBySessionId(String sessionId) {
+        return databaseClient.sql("SELECT id FROM baskets WHERE session_id = :sessionId")
+                .bind("sessionId", sessionId)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * @return the id of the session's basket, created if it has none yet
+     */
+    public Mono<Long> findOrCreate(String sessionId, LocalDateTime now) {
+        return findIdBySessionId(sessionId)
+                .switchIfEmpty(Mono.defer(() -> databaseClient.sql("INSERT INTO baskets (id, session_id, created_at) "
+                                + "VALUES (nextval('baskets_seq'), :sessionId, :now) ON CONFLICT DO NOTHING")
+                        .bind("sessionId", sessionId)
+                        .bind("now", now)
+                        .fetch()
+                        .rowsUpdated()
+                        .then(findIdBySessionId(sessionId))));
+    }
+
+    /**
+     * Adds to the line for the product, creating it at the current product
+     * price if the basket has none yet.
+     */
+    public Mono<Long> addItem(Long basketId, Long productId, int quantity) {
+        return incrementItem(basketId, productId, quantity)
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : databaseClient.sql(
+                                "INSERT INTO basket_items (id, basket_id, product_id, quantity, unit_price) "
+                                        + "SELECT nextval('basket_items_seq'), :basketId, id, :quantity, price "
+                                        + "FROM products WHERE id = :productId ON CONFLICT DO NOTHING")
+                        .bind("basketId", basketId)
+                        .bind("productId", productId)
+                        .bind("quantity", quantity)
+                        .fetch()
+                        .rowsUpdated()
+                        // A concurrent request created the line first; add to it instead
+                        .flatMap(inserted -> inserted > 0 ? Mono.just(inserted) :
+                                incrementItem(basketId, productId, quantity)));
+    }
+
+    private Mono<Long> incrementItem(Long basketId, Long productId, int quantity) {
+        return databaseClient.sql("UPDATE basket_items SET quantity = quantity + :quantity "
+                        + "WHERE basket_id = :basketId AND product_id = :productId")
+                .bind("basketId", basketId)
+                .bind("productId", productId)
+                .bind("quantity", quantity)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Locks the line for the rest of the transaction.
+     *
+     * @return the quantity held, or empty if the basket has no line for the product
+     */
+    public Mono<Integer> lockItemQuantity(Long basketId, Long productId) {
+        return databaseClient.sql("SELECT quantity FROM basket_items "
+                        + "WHERE basket_id = :basketId AND product_id = :productId FOR UPDATE")
+                .bind("basketId", basketId)
+                .bind("productId", productId)
+                .map(row -> row.get("quantity", Integer.class))
+                .one();
+    }
+
+    public Mono<Long> decrementItem(Long basketId, Long productId, int quantity) {
+        return databaseClient.sql("UPDATE basket_items SET quantity = quantity - :quantity "
+                        + "WHERE basket_id = :basketId AND product_id = :productId")
+                .bind("basketId", basketId)
+                .bind("productId", productId)
+                .bind("quantity", quantity)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteItem(Long basketId, Long productId) {
+        return databaseClient.sql("DELETE FROM basket_items WHERE basket_id = :basketId AND product_id = :productId")
+                .bind("basketId", basketId)
+                .bind("productId", productId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<BasketLine> findLines(Long basketId) {
+        return databaseClient.sql("SELECT bi.product_id, p.name, bi.unit_price, bi.quantity "
+                        + "FROM basket_items bi JOIN products p ON p.id = bi.product_id "
+                        + "WHERE bi.basket_id = :basketId ORDER BY bi.id")
+                .bind("basketId", basketId)
+                .map(row -> new BasketLine(
+                        row.get("product_id", Long.class),
+                        row.get("name", String.class),
+                        row.get("unit_price", BigDecimal.class),
+                        row.get("quantity", Integer.class)))
+                .all();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.storeapplication.reactive.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+@AllArgsConstructor
+public class ReactiveDealRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<ActiveDeal> findActiveDealsForProducts(Collection<Long> productIds, LocalDateTime now) {
+        return databaseClient.sql("SELECT id, product_id, description, buy_quantity, discount_percentage, "
+                        + "discount_amount, get_quantity FROM deals WHERE product_id IN (:productIds) "
+                        + "AND active = TRUE AND (expiration_date IS NULL OR expiration_date > :now) ORDER BY id")
+                .bind("productIds", productIds)
+                .bind("now", now)
+                .map(row -> new ActiveDeal(
+                        row.get("id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("description", String.class),
+                        row.get("buy_quantity", Integer.class),
+                        row.get("discount_percentage", BigDecimal.class),
+                        row.get("discount_amount", BigDecimal.class),
+                        row.get("get_quantity", Integer.class)))
+                .all();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.storeapplication.reactive.repository;
+
+import com.example.storeapplication.enums.Category;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@AllArgsConstructor
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS =
+            "id, name, description, price, category, stock, available, created_at";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "description", "description",
+            "price", "price",
+            "category", "category",
+            "stock", "stock",
+            "available", "available",
+            "createdAt", "created_at");
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<ProductRow> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProductRow)
+                .one();
+    }
+
+    /**
+     * Filters left null are not applied.
+     */
+    public Flux<ProductRow> findAllWithFilter(Category category, BigDecimal minPrice, BigDecimal maxPrice,
+                                              Boolean available, String sortBy, boolean descending,
+                                              int limit, long offset) {
+        String sortColumn = SORT_COLUMNS.get(sortBy);
+        if (sortColumn == null) {
+            throw new IllegalArgumentException("No property '" + sortBy + "' found for type 'Product'");
+        }
+
+        Map<String, Object> binds = filterBinds(category, minPrice, maxPrice, available);
+        String sql = "SELECT " + COLUMNS + " FROM products" + where(binds)
+                + " ORDER BY " + sortColumn + (descending ? " DESC" : " ASC")
+                + " LIMIT :limit OFFSET :offset";
+        binds.put("limit", limit);
+        binds.put("offset", offset);
+
+        return databaseClient.sql(sql)
+                .bindValues(binds)
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Mono<Long> countWithFilter(Category category, BigDecimal minPrice, BigDecimal maxPrice, Boolean available) {
+        Map<String, Object> binds = filterBinds(category, minPrice, maxPrice, available);
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM products" + where(binds))
+                .bindValues(binds)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * Takes stock in a single conditional update, so concurrent reservations
+     * can never drive it below zero.
+     *
+     * @return 1 if the stock was reserved, 0 if the product is missing, unavailable or short
+     */
+    public Mono<Long> reserveStock(Long id, int quantity, LocalDateTime now) {
+        return databaseClient.sql("UPDATE products SET stock = stock - :quantity, updated_at = :now "
+                        + "WHERE id = :id AND available = TRUE AND stock >= :quantity")
+                .bind("id", id)
+                .bind("quantity", quantity)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> releaseStock(Long id, int quantity, LocalDateTime now) {
+        return databaseClient.sql("UPDATE products SET stock = stock + :quantity, updated_at = :now WHERE id = :id")
+                .bind("id", id)
+                .bind("quantity", quantity)
+                .bind("now", now)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Map<String, Object> filterBinds(Category category, BigDecimal minPrice, BigDecimal maxPrice,
+                                                   Boolean available) {
+        Map<String, Object> binds = new LinkedHashMap<>();
+        if (category != null) {
+            binds.put("category", category.name());
+        }
+        if (minPrice != null) {
+            binds.put("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            binds.put("maxPrice", maxPrice);
+        }
+        if (available != null) {
+            binds.put("available", available);
+        }
+        return binds;
+    }
+
+    private static String where(Map<String, Object> binds) {
+        StringBuilder where = new StringBuilder();
+        for (String name : binds.keySet()) {
+            where.append(where.isEmpty() ? " WHERE " : " AND ");
+            where.append(switch (name) {
+                case "category" -> "category = :category";
+                case "minPrice" -> "price >= :minPrice";
+                case "maxPrice" -> "price <= :maxPrice";
+                default -> "available = :available";
+            });
+        }
+        return where.toString();
+    }
+
+    private static ProductRow toProductRow(Readable row) {
+        return new ProductRow(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                Category.valueOf(row.get("category", String.class)),
+                row.get("stock", Integer.class),
+                row.get("available", Boolean.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
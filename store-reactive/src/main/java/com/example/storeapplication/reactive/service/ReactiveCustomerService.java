@@ -0,0 +1,23 @@
+package com.example.storeapplication.reactive.service;
+
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.enums.Category;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface ReactiveCustomerService {
+
+    Mono<String> addToBasket(String sessionId, BasketItemRequest request);
+
+    Mono<String> removeFromBasket(String sessionId, BasketItemRequest request);
+
+    Mono<ReceiptResponse> calculateReceipt(String sessionId);
+
+    Mono<PageResponse<ProductResponse>> getProducts(Category category, BigDecimal minPrice,
+                                                    BigDecimal maxPrice, Boolean available,
+                                                    int page, int size, String sortBy, String sortDir);
+}
@@ -0,0 +1,169 @@
+package com.example.storeapplication.reactive.service.impl;
+
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.dto.PageResponse;
+import com.example.storeapplication.dto.ProductResponse;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.enums.Category;
+import com.example.storeapplication.exception.InsufficientStockException;
+import com.example.storeapplication.exception.ProductNotFoundException;
+import com.example.storeapplication.reactive.repository.ActiveDeal;
+import com.example.storeapplication.reactive.repository.BasketLine;
+import com.example.storeapplication.reactive.repository.ProductRow;
+import com.example.storeapplication.reactive.repository.ReactiveBasketRepository;
+import com.example.storeapplication.reactive.repository.ReactiveDealRepository;
+import com.example.storeapplication.reactive.repository.ReactiveProductRepository;
+import com.example.storeapplication.reactive.service.ReactiveCustomerService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking version of the servlet {@code CustomerServiceImpl}. Instead of
+ * a JVM-wide lock, stock is reserved by a conditional update in the database,
+ * which holds across threads and application instances alike.
+ */
+@Service
+@AllArgsConstructor
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+    private final ReactiveProductRepository productRepository;
+
+    private final ReactiveBasketRepository basketRepository;
+
+    private final ReactiveDealRepository dealRepository;
+
+    private final ReceiptCalculator receiptCalculator;
+
+    /**
+     * @param sessionId
+     * @param request
+     * @return
+     */
+    @Override
+    @Transactional
+    public Mono<String> addToBasket(String sessionId, BasketItemRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        Long productId = request.getProductId();
+        int quantity = request.getQuantity();
+
+        return productRepository.reserveStock(productId, quantity, now)
+                .flatMap(reserved -> reserved > 0 ? Mono.just(reserved) : rejectReservation(productId, quantity))
+                .then(basketRepository.findOrCreate(sessionId, now))
+                .flatMap(basketId -> basketRepository.addItem(basketId, productId, quantity))
+                .thenReturn("Product added to basket successfully");
+    }
+
+    /**
+     * Returns to stock only what the basket actually held.
+     *
+     * @param sessionId
+     * @param request
+     * @return
+     */
+    @Override
+    @Transactional
+    public Mono<String> removeFromBasket(String sessionId, BasketItemRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        Long productId = request.getProductId();
+        int quantity = request.getQuantity();
+
+        return basketRepository.findIdBySessionId(sessionId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Basket not found for session: " + sessionId)))
+                .flatMap(basketId -> productRepository.findById(productId)
+                        .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found with id: " + productId)))
+                        .then(basketRepository.lockItemQuantity(basketId, productId))
+                        .switchIfEmpty(Mono.error(() -> new RuntimeException("Product not found in basket or insufficient quantity")))
+                        .flatMap(held -> {
+                            Mono<Long> update = held <= quantity ?
+                                    basketRepository.deleteItem(basketId, productId) :
+                                    basketRepository.decrementItem(basketId, productId, quantity);
+                            return update.then(productRepository.releaseStock(productId, Math.min(held, quantity), now));
+                        }))
+                .thenReturn("Product removed from basket successfully");
+    }
+
+    /**
+     * @param sessionId
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<ReceiptResponse> calculateReceipt(String sessionId) {
+        return basketRepository.findIdBySessionId(sessionId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Basket not found for session: " + sessionId)))
+                .flatMap(basketId -> basketRepository.findLines(basketId).collectList())
+                .flatMap(lines -> activeDeals(lines)
+                        .map(deals -> receiptCalculator.calculate(sessionId, lines, deals)));
+    }
+
+    /**
+     * @param category
+     * @param minPrice
+     * @param maxPrice
+     * @param available
+     * @param page
+     * @param size
+     * @param sortBy
+     * @param sortDir
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<PageResponse<ProductResponse>> getProducts(Category category, BigDecimal minPrice,
+                                                           BigDecimal maxPrice, Boolean available,
+                                                           int page, int size, String sortBy, String sortDir) {
+        if (page < 0 || size < 1) {
+            return Mono.error(new IllegalArgumentException("Page index must not be negative and size must be positive"));
+        }
+
+        Mono<List<ProductResponse>> content = Mono.defer(() -> productRepository.findAllWithFilter(
+                        category, minPrice, maxPrice, available, sortBy, sortDir.equalsIgnoreCase("desc"),
+                        size, (long) page * size)
+                .map(ReactiveCustomerServiceImpl::mapToProductResponse)
+                .collectList());
+        Mono<Long> total = productRepository.countWithFilter(category, minPrice, maxPrice, available);
+
+        return Mono.zip(content, total)
+                .map(result -> new PageResponse<>(result.getT1(), page, size, result.getT2(),
+                        (int) ((result.getT2() + size - 1) / size)));
+    }
+
+    private Mono<Long> rejectReservation(Long productId, int quantity) {
+        return productRepository.findById(productId)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found with id: " + productId)))
+                .flatMap(product -> Mono.error(product.available() ?
+                        new InsufficientStockException(String.format("Insufficient stock. Available: %d, Requested: %d",
+                                product.stock(), quantity)) :
+                        new ProductNotFoundException("Product is not available")));
+    }
+
+    private Mono<Map<Long, Collection<ActiveDeal>>> activeDeals(List<BasketLine> lines) {
+        if (lines.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return dealRepository.findActiveDealsForProducts(
+                        lines.stream().map(BasketLine::productId).toList(), LocalDateTime.now())
+                .collectMultimap(ActiveDeal::productId);
+    }
+
+    private static ProductResponse mapToProductResponse(ProductRow product) {
+        return new ProductResponse(
+                product.id(),
+                product.name(),
+                product.description(),
+                product.price(),
+                product.category(),
+                product.stock(),
+                product.available(),
+                product.createdAt()
+        );
+    }
+}
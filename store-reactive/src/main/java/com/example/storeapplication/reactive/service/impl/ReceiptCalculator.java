@@ -0,0 +1,98 @@
+package com.example.storeapplication.reactive.service.impl;
+
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.reactive.repository.ActiveDeal;
+import com.example.storeapplication.reactive.repository.BasketLine;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pricing rules of the servlet {@code ReceiptCalculationServiceImpl}, applied
+ * to rows already loaded rather than entities.
+ */
+@Component
+public class ReceiptCalculator {
+
+    /**
+     * @param sessionId
+     * @param lines
+     * @param dealsByProduct active deals keyed by product id
+     * @return
+     */
+    public ReceiptResponse calculate(String sessionId, List<BasketLine> lines,
+                                     Map<Long, Collection<ActiveDeal>> dealsByProduct) {
+        ReceiptResponse receipt = new ReceiptResponse();
+        receipt.setSessionId(sessionId);
+
+        List<ReceiptResponse.ReceiptItem> receiptItems = new ArrayList<>();
+        List<ReceiptResponse.AppliedDeal> appliedDeals = new ArrayList<>();
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal totalDiscount = BigDecimal.ZERO;
+
+        for (BasketLine line : lines) {
+            BigDecimal itemTotal = line.unitPrice().multiply(BigDecimal.valueOf(line.quantity()));
+            subtotal = subtotal.add(itemTotal);
+
+            receiptItems.add(new ReceiptResponse.ReceiptItem(
+                    line.productId(),
+                    line.productName(),
+                    line.unitPrice(),
+                    line.quantity(),
+                    itemTotal
+            ));
+        }
+
+        for (BasketLine line : lines) {
+            for (ActiveDeal deal : dealsByProduct.getOrDefault(line.productId(), List.of())) {
+                BigDecimal discount = calculateDiscount(line, deal);
+                if (discount.compareTo(BigDecimal.ZERO) > 0) {
+                    totalDiscount = totalDiscount.add(discount);
+                    appliedDeals.add(new ReceiptResponse.AppliedDeal(deal.description(), discount));
+                }
+            }
+        }
+
+        receipt.setItems(receiptItems);
+        receipt.setAppliedDeals(appliedDeals);
+        receipt.setSubtotal(subtotal);
+        receipt.setTotalDiscount(totalDiscount);
+        receipt.setTotalPrice(subtotal.subtract(totalDiscount).max(BigDecimal.ZERO));
+
+        return receipt;
+    }
+
+    /**
+     * @param line
+     * @param deal
+     * @return
+     */
+    public BigDecimal calculateDiscount(BasketLine line, ActiveDeal deal) {
+        if (line.quantity() < deal.buyQuantity()) {
+            return BigDecimal.ZERO;
+        }
+
+        int applicableSets = line.quantity() / deal.buyQuantity();
+        if (deal.discountPercentage() != null) {
+            int discountQuantity = deal.getQuantity() != null ?
+                    deal.getQuantity() * applicableSets : applicableSets;
+
+            return line.unitPrice()
+                    .multiply(deal.discountPercentage())
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(Math.min(discountQuantity, line.quantity())));
+        }
+
+        if (deal.discountAmount() != null) {
+            return deal.discountAmount().multiply(BigDecimal.valueOf(applicableSets));
+        }
+
+        return BigDecimal.ZERO;
+    }
+}
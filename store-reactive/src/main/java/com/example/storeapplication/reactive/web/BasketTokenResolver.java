@@ -0,0 +1,71 @@
+package com.example.storeapplication.reactive.web;
+
+import com.example.storeapplication.session.BasketTokenCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * WebFlux counterpart of the servlet application's token mode: the basket id
+ * travels in the same signed token, header and cookie, so clients talk to
+ * either stack the same way.
+ */
+@Slf4j
+@Component
+public class BasketTokenResolver {
+
+    private static final Duration COOKIE_MAX_AGE = Duration.ofDays(30);
+
+    private final BasketTokenCodec codec;
+
+    public BasketTokenResolver(@Value("${store.basket.token.secret:}") String secret) {
+        this.codec = new BasketTokenCodec(secret(secret));
+    }
+
+    public String resolve(ServerWebExchange exchange) {
+        Optional<String> basketId = codec.verify(token(exchange));
+        if (basketId.isPresent()) {
+            return basketId.get();
+        }
+
+        String id = codec.newBasketId();
+        String token = codec.issue(id);
+        exchange.getResponse().getHeaders().set(BasketTokenCodec.HEADER, token);
+        exchange.getResponse().addCookie(ResponseCookie.from(BasketTokenCodec.COOKIE, token)
+                .httpOnly(true)
+                .secure(exchange.getRequest().getSslInfo() != null)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(COOKIE_MAX_AGE)
+                .build());
+        return id;
+    }
+
+    private static String token(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(BasketTokenCodec.HEADER);
+        if (header != null) {
+            return header;
+        }
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(BasketTokenCodec.COOKIE);
+        return cookie != null ? cookie.getValue() : null;
+    }
+
+    private static byte[] secret(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("store.basket.token.secret is not set; using a random secret, "
+                + "basket tokens will not survive a restart or work across instances");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
@@ -0,0 +1,55 @@
+-- Mirrors the tables Hibernate creates for the servlet application, plus the
+-- unique keys that stand in for its in-JVM lock: concurrent requests for one
+-- basket must end up with a single basket row and a single line per product
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS deals_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS baskets_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS basket_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS products (
+    id          BIGINT PRIMARY KEY,
+    name        VARCHAR(255)   NOT NULL,
+    description VARCHAR(255)   NOT NULL,
+    price       NUMERIC(10, 2) NOT NULL,
+    category    VARCHAR(255)   NOT NULL,
+    stock       INTEGER        NOT NULL,
+    available   BOOLEAN        NOT NULL,
+    created_at  TIMESTAMP      NOT NULL,
+    updated_at  TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS deals (
+    id                  BIGINT PRIMARY KEY,
+    product_id          BIGINT       NOT NULL REFERENCES products (id),
+    description         VARCHAR(255) NOT NULL,
+    buy_quantity        INTEGER      NOT NULL,
+    discount_percentage NUMERIC(5, 2),
+    discount_amount     NUMERIC(10, 2),
+    get_quantity        INTEGER,
+    activation_date     TIMESTAMP,
+    expiration_date     TIMESTAMP,
+    active              BOOLEAN      NOT NULL,
+    created_at          TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_deals_product_active_expiration ON deals (product_id, active, expiration_date);
+
+CREATE TABLE IF NOT EXISTS baskets (
+    id         BIGINT PRIMARY KEY,
+    session_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP    NOT NULL,
+    updated_at TIMESTAMP
+);
+
+DROP INDEX IF EXISTS idx_baskets_session_id;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_baskets_session_id ON baskets (session_id);
+
+CREATE TABLE IF NOT EXISTS basket_items (
+    id         BIGINT PRIMARY KEY,
+    basket_id  BIGINT         NOT NULL REFERENCES baskets (id),
+    product_id BIGINT         NOT NULL REFERENCES products (id),
+    quantity   INTEGER        NOT NULL,
+    unit_price NUMERIC(10, 2) NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_basket_items_basket_product ON basket_items (basket_id, product_id);
@@ -0,0 +1,272 @@
+package com.example.storeapplication.reactive;
+
+import com.example.storeapplication.dto.BasketItemRequest;
+import com.example.storeapplication.dto.ReceiptResponse;
+import com.example.storeapplication.reactive.repository.ReactiveBasketRepository;
+import com.example.storeapplication.session.BasketTokenCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "store.basket.token.secret=" + ReactiveCustomerApiTest.SECRET)
+class ReactiveCustomerApiTest {
+
+    static final String SECRET = "reactive-test-secret-reactive-test-secret";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveBasketRepository basketRepository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Test
+    void addToBasket_ShouldReserveStockAndIssueToken() {
+        // Arrange
+        long productId = insertProduct("Headphones", new BigDecimal("50.00"), 5);
+
+        // Act
+        String token = webTestClient.post().uri("/customer/basket/add")
+                .bodyValue(new BasketItemRequest(productId, 2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Product added to basket successfully")
+                .returnResult()
+                .getResponseHeaders().getFirst(BasketTokenCodec.HEADER);
+
+        // Assert
+        assertNotNull(token);
+        assertEquals(3, stockOf(productId));
+    }
+
+    @Test
+    void addToBasket_WhenStockIsShort_ShouldReturnNotFoundLikeServletApi() {
+        // Arrange
+        long productId = insertProduct("Camera", new BigDecimal("400.00"), 1);
+
+        // Act & Assert
+        webTestClient.post().uri("/customer/basket/add")
+                .bodyValue(new BasketItemRequest(productId, 2))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Insufficient stock. Available: 1, Requested: 2");
+        assertEquals(1, stockOf(productId));
+    }
+
+    @Test
+    void addToBasket_Concurrently_ShouldNeverOversell() {
+        // Arrange
+        long productId = insertProduct("Console", new BigDecimal("300.00"), 50);
+        WebTestClient client = webTestClient.mutate().responseTimeout(Duration.ofSeconds(30)).build();
+
+        // Act
+        List<Integer> statuses = Flux.range(0, 200)
+                .flatMap(i -> client.post().uri("/customer/basket/add")
+                        .bodyValue(new BasketItemRequest(productId, 1))
+                        .exchange()
+                        .returnResult(String.class)
+                        .getResponseBody()
+                        .then()
+                        .thenReturn(0), 64)
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(200, statuses.size());
+        assertEquals(0, stockOf(productId));
+        Long reserved = databaseClient.sql("SELECT COALESCE(SUM(quantity), 0) AS reserved FROM basket_items WHERE product_id = :id")
+                .bind("id", productId)
+                .map(row -> row.get("reserved", Long.class))
+                .one()
+                .block();
+        assertEquals(50L, reserved);
+    }
+
+    @Test
+    void findOrCreate_WhileAnotherTransactionCreatesTheBasket_ShouldReturnTheSameBasket() throws Exception {
+        // Arrange
+        String sessionId = new BasketTokenCodec(SECRET.getBytes(StandardCharsets.UTF_8)).newBasketId();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        List<Long> ids = interleave(basketRepository.findOrCreate(sessionId, now),
+                basketRepository.findOrCreate(sessionId, now));
+
+        // Assert
+        assertEquals(ids.get(0), ids.get(1));
+        assertEquals(1L, count("SELECT COUNT(*) AS n FROM baskets WHERE session_id = :key", sessionId));
+    }
+
+    @Test
+    void addItem_WhileAnotherTransactionAddsTheSameProduct_ShouldKeepOneLine() throws Exception {
+        // Arrange
+        long productId = insertProduct("Tablet", new BigDecimal("250.00"), 10);
+        String sessionId = new BasketTokenCodec(SECRET.getBytes(StandardCharsets.UTF_8)).newBasketId();
+        Long basketId = basketRepository.findOrCreate(sessionId, LocalDateTime.now()).block();
+
+        // Act
+        interleave(basketRepository.addItem(basketId, productId, 1), basketRepository.addItem(basketId, productId, 2));
+
+        // Assert
+        assertEquals(List.of(3), databaseClient.sql("SELECT quantity FROM basket_items WHERE basket_id = :basketId")
+                .bind("basketId", basketId)
+                .map(row -> row.get("quantity", Integer.class))
+                .all()
+                .collectList()
+                .block());
+    }
+
+    @Test
+    void removeFromBasket_ShouldOnlyReleaseWhatTheBasketHeld() {
+        // Arrange
+        long productId = insertProduct("Mouse", new BigDecimal("20.00"), 10);
+        String token = addAndGetToken(productId, 2);
+
+        // Act
+        webTestClient.post().uri("/customer/basket/remove")
+                .header(BasketTokenCodec.HEADER, token)
+                .bodyValue(new BasketItemRequest(productId, 5))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Product removed from basket successfully");
+
+        // Assert
+        assertEquals(10, stockOf(productId));
+    }
+
+    @Test
+    void getReceipt_ShouldApplyActiveDeals() {
+        // Arrange
+        long productId = insertProduct("Keyboard", new BigDecimal("100.00"), 10);
+        databaseClient.sql("INSERT INTO deals (id, product_id, description, buy_quantity, discount_percentage, "
+                        + "get_quantity, active, created_at) VALUES (nextval('deals_seq'), :productId, "
+                        + "'Buy 2 get 1 half price', 2, 50.00, 1, TRUE, :now)")
+                .bind("productId", productId)
+                .bind("now", LocalDateTime.now())
+                .fetch().rowsUpdated().block();
+        String token = addAndGetToken(productId, 2);
+
+        // Act
+        ReceiptResponse receipt = webTestClient.get().uri("/customer/basket/receipt")
+                .header(BasketTokenCodec.HEADER, token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ReceiptResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertNotNull(receipt);
+        assertEquals(1, receipt.getItems().size());
+        assertEquals(0, new BigDecimal("200.00").compareTo(receipt.getSubtotal()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(receipt.getTotalDiscount()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(receipt.getTotalPrice()));
+        assertEquals("Buy 2 get 1 half price", receipt.getAppliedDeals().get(0).getDescription());
+    }
+
+    @Test
+    void getProducts_ShouldReturnPageResponse() {
+        // Arrange
+        insertProduct("Zebra lamp", new BigDecimal("35.00"), 3);
+
+        // Act & Assert
+        webTestClient.get().uri("/customer/products?sortBy=name&sortDir=desc&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("Zebra lamp")
+                .jsonPath("$.page").isEqualTo(0)
+                .jsonPath("$.size").isEqualTo(1)
+                .jsonPath("$.first").isEqualTo(true);
+    }
+
+    private String addAndGetToken(long productId, int quantity) {
+        return webTestClient.post().uri("/customer/basket/add")
+                .bodyValue(new BasketItemRequest(productId, quantity))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getFirst(BasketTokenCodec.HEADER);
+    }
+
+    private long insertProduct(String name, BigDecimal price, int stock) {
+        Long id = databaseClient.sql("SELECT nextval('products_seq') AS id")
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        databaseClient.sql("INSERT INTO products (id, name, description, price, category, stock, available, created_at) "
+                        + "VALUES (:id, :name, :name, :price, 'ELECTRONICS', :stock, TRUE, :now)")
+                .bind("id", id)
+                .bind("name", name)
+                .bind("price", price)
+                .bind("stock", stock)
+                .bind("now", LocalDateTime.now())
+                .fetch().rowsUpdated().block();
+        return id;
+    }
+
+    /**
+     * Runs {@code first} in a transaction that stays open until {@code second}
+     * has started in its own, so the two cannot simply run one after the other.
+     */
+    private <T> List<T> interleave(Mono<T> first, Mono<T> second) throws Exception {
+        CountDownLatch firstDone = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        CompletableFuture<T> firstResult = transactionalOperator.transactional(first
+                        .doOnNext(result -> firstDone.countDown())
+                        .delayUntil(result -> Mono.fromCallable(() -> commitFirst.await(10, TimeUnit.SECONDS))
+                                .subscribeOn(Schedulers.boundedElastic())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .toFuture();
+        assertTrue(firstDone.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<T> secondResult = transactionalOperator.transactional(second)
+                .subscribeOn(Schedulers.boundedElastic())
+                .toFuture();
+        // Give the second transaction time to reach the row the first one holds
+        Thread.sleep(200);
+        commitFirst.countDown();
+        return List.of(firstResult.get(10, TimeUnit.SECONDS), secondResult.get(10, TimeUnit.SECONDS));
+    }
+
+    private long count(String sql, String key) {
+        return databaseClient.sql(sql)
+                .bind("key", key)
+                .map(row -> row.get("n", Long.class))
+                .one()
+                .block();
+    }
+
+    private int stockOf(long productId) {
+        return databaseClient.sql("SELECT stock FROM products WHERE id = :id")
+                .bind("id", productId)
+                .map(row -> row.get("stock", Integer.class))
+                .one()
+                .block();
+    }
+}